@@ -0,0 +1,98 @@
+package com.djordje.control;
+
+import com.djordje.concurrent.VirtualThreads;
+import io.vavr.CheckedFunction0;
+import io.vavr.CheckedFunction1;
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
+import io.vavr.concurrent.Future;
+import io.vavr.concurrent.Promise;
+import io.vavr.control.Try;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Asynchronous Try pipeline for I/O-bound steps.
+ *
+ * Every step runs on the pipeline's executor once the previous one completed, nothing blocks in between and
+ * a failure skips the remaining map steps like it does in Try. The default executor uses virtual threads on
+ * Java 21+ (see VirtualThreads), so thousands of pipelines blocking on I/O don't need as many platform threads.
+ * Only await() blocks, at the very end.
+ */
+public final class AsyncTry<T> {
+
+    private static final ExecutorService DEFAULT_EXECUTOR = VirtualThreads.newExecutor();
+
+    private final ExecutorService executor;
+    private final Future<T> future;
+
+    private AsyncTry(ExecutorService executor, Future<T> future) {
+        this.executor = executor;
+        this.future = future;
+    }
+
+    public static <T> AsyncTry<T> of(CheckedFunction0<? extends T> computation) {
+        return of(DEFAULT_EXECUTOR, computation);
+    }
+
+    public static <T> AsyncTry<T> of(ExecutorService executor, CheckedFunction0<? extends T> computation) {
+        return new AsyncTry<>(executor, Future.of(executor, computation));
+    }
+
+    //all results in input order, or the first failure in input order
+    public static <T> AsyncTry<Seq<T>> sequence(ExecutorService executor, Iterable<? extends AsyncTry<? extends T>> tries) {
+        List<Future<? extends T>> futures = List.empty();
+        for (AsyncTry<? extends T> t : tries) {
+            futures = futures.prepend(t.toFuture());
+        }
+        return new AsyncTry<>(executor, Future.sequence(executor, futures.reverse()));
+    }
+
+    public <U> AsyncTry<U> mapAsync(CheckedFunction1<? super T, ? extends U> f) {
+        return then(result -> result.mapTry(f));
+    }
+
+    public <U> AsyncTry<U> flatMapAsync(CheckedFunction1<? super T, ? extends Try<? extends U>> f) {
+        return then(result -> result.flatMapTry(f));
+    }
+
+    //like Try.recoverWith(exception, f), with f running asynchronously
+    @SuppressWarnings("unchecked")
+    public <X extends Throwable> AsyncTry<T> recoverAsync(Class<X> exception, CheckedFunction1<? super X, ? extends T> f) {
+        return then(result -> result.isFailure() && exception.isInstance(result.getCause())
+            ? Try.of(() -> f.apply((X) result.getCause()))
+            : result);
+    }
+
+    //vavr runs onComplete actions on the future's executor, so the step never runs on the completing thread;
+    //whatever the step throws fails the promise instead of leaving await() blocked forever
+    private <U> AsyncTry<U> then(Function<Try<T>, Try<U>> step) {
+        Promise<U> promise = Promise.make(executor);
+        future.onComplete(result -> {
+            try {
+                promise.complete(step.apply(result));
+            } catch (Throwable e) {
+                promise.complete(failure(e));
+            }
+        });
+        return new AsyncTry<>(executor, promise.future());
+    }
+
+    //Try.of rethrows what vavr counts as fatal, like InterruptedException, and Try.failure refuses to hold it,
+    //so those end up wrapped in an ExecutionException
+    private static <U> Try<U> failure(Throwable e) {
+        boolean fatal = e instanceof InterruptedException || e instanceof LinkageError || e instanceof ThreadDeath
+            || e instanceof VirtualMachineError;
+        return Try.failure(fatal ? new ExecutionException(e) : e);
+    }
+
+    //blocks until the pipeline is done
+    public Try<T> await() {
+        return future.await().getValue().get();
+    }
+
+    public Future<T> toFuture() {
+        return future;
+    }
+}
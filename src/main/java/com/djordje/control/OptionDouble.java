@@ -0,0 +1,124 @@
+package com.djordje.control;
+
+import io.vavr.control.Option;
+import java.util.NoSuchElementException;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Option of a double that doesn't box.
+ *
+ * Option&lt;Double&gt; allocates a Double and a Some for every value, there is no Double cache. OptionDouble
+ * keeps the double in a field and hands out one shared empty instance and one for zero. Doubles have no
+ * small range worth caching, so a chain like of(x).map(...).getOrElse(0.0) relies on escape analysis to
+ * drop its instances.
+ */
+public final class OptionDouble {
+
+    private static final OptionDouble EMPTY = new OptionDouble(false, 0.0);
+    private static final OptionDouble ZERO = new OptionDouble(true, 0.0);
+
+    private final boolean defined;
+    private final double value;
+
+    private OptionDouble(boolean defined, double value) {
+        this.defined = defined;
+        this.value = value;
+    }
+
+    public static OptionDouble of(double value) {
+        //only +0.0 is shared, -0.0 and NaN keep their own bits
+        return Double.doubleToRawLongBits(value) == 0L ? ZERO : new OptionDouble(true, value);
+    }
+
+    public static OptionDouble empty() {
+        return EMPTY;
+    }
+
+    //null becomes empty
+    public static OptionDouble ofNullable(Double value) {
+        return value == null ? EMPTY : of(value);
+    }
+
+    public boolean isEmpty() {
+        return !defined;
+    }
+
+    public boolean isDefined() {
+        return defined;
+    }
+
+    public double get() {
+        if (!defined) {
+            throw new NoSuchElementException("No value present");
+        }
+        return value;
+    }
+
+    public double getOrElse(double other) {
+        return defined ? value : other;
+    }
+
+    public double getOrElse(DoubleSupplier other) {
+        return defined ? value : other.getAsDouble();
+    }
+
+    public OptionDouble map(DoubleUnaryOperator mapper) {
+        return defined ? of(mapper.applyAsDouble(value)) : EMPTY;
+    }
+
+    public <U> Option<U> mapToObj(DoubleFunction<? extends U> mapper) {
+        return defined ? Option.of(mapper.apply(value)) : Option.none();
+    }
+
+    public OptionDouble filter(DoublePredicate predicate) {
+        return defined && predicate.test(value) ? this : EMPTY;
+    }
+
+    public void forEach(DoubleConsumer action) {
+        if (defined) {
+            action.accept(value);
+        }
+    }
+
+    public OptionDouble peek(DoubleConsumer action) {
+        forEach(action);
+        return this;
+    }
+
+    public OptionDouble onEmpty(Runnable action) {
+        if (!defined) {
+            action.run();
+        }
+        return this;
+    }
+
+    public Option<Double> boxed() {
+        return defined ? Option.some(value) : Option.none();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OptionDouble)) {
+            return false;
+        }
+        OptionDouble other = (OptionDouble) o;
+        return defined == other.defined && Double.compare(value, other.value) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return defined ? Double.hashCode(value) : 1;
+    }
+
+    @Override
+    public String toString() {
+        return defined ? "Some(" + value + ")" : "None";
+    }
+}
@@ -0,0 +1,131 @@
+package com.djordje.control;
+
+import io.vavr.control.Option;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Option of an int that doesn't box.
+ *
+ * Option&lt;Integer&gt; allocates an Integer and a Some for every value outside the Integer cache. OptionInt keeps
+ * the int in a field, hands out one shared empty instance and preallocated instances for small values, so
+ * chains like of(x).filter(...).map(...).getOrElse(-1) on small values allocate nothing and the rest are left
+ * to escape analysis.
+ */
+public final class OptionInt {
+
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1023;
+    private static final OptionInt EMPTY = new OptionInt(false, 0);
+    private static final OptionInt[] CACHE = new OptionInt[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new OptionInt(true, CACHE_LOW + i);
+        }
+    }
+
+    private final boolean defined;
+    private final int value;
+
+    private OptionInt(boolean defined, int value) {
+        this.defined = defined;
+        this.value = value;
+    }
+
+    public static OptionInt of(int value) {
+        return value >= CACHE_LOW && value <= CACHE_HIGH ? CACHE[value - CACHE_LOW] : new OptionInt(true, value);
+    }
+
+    public static OptionInt empty() {
+        return EMPTY;
+    }
+
+    //null becomes empty
+    public static OptionInt ofNullable(Integer value) {
+        return value == null ? EMPTY : of(value);
+    }
+
+    public boolean isEmpty() {
+        return !defined;
+    }
+
+    public boolean isDefined() {
+        return defined;
+    }
+
+    public int get() {
+        if (!defined) {
+            throw new NoSuchElementException("No value present");
+        }
+        return value;
+    }
+
+    public int getOrElse(int other) {
+        return defined ? value : other;
+    }
+
+    public int getOrElse(IntSupplier other) {
+        return defined ? value : other.getAsInt();
+    }
+
+    public OptionInt map(IntUnaryOperator mapper) {
+        return defined ? of(mapper.applyAsInt(value)) : EMPTY;
+    }
+
+    public <U> Option<U> mapToObj(IntFunction<? extends U> mapper) {
+        return defined ? Option.of(mapper.apply(value)) : Option.none();
+    }
+
+    public OptionInt filter(IntPredicate predicate) {
+        return defined && predicate.test(value) ? this : EMPTY;
+    }
+
+    public void forEach(IntConsumer action) {
+        if (defined) {
+            action.accept(value);
+        }
+    }
+
+    public OptionInt peek(IntConsumer action) {
+        forEach(action);
+        return this;
+    }
+
+    public OptionInt onEmpty(Runnable action) {
+        if (!defined) {
+            action.run();
+        }
+        return this;
+    }
+
+    public Option<Integer> boxed() {
+        return defined ? Option.some(value) : Option.none();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OptionInt)) {
+            return false;
+        }
+        OptionInt other = (OptionInt) o;
+        return defined == other.defined && value == other.value;
+    }
+
+    @Override
+    public int hashCode() {
+        return defined ? Integer.hashCode(value) : 1;
+    }
+
+    @Override
+    public String toString() {
+        return defined ? "Some(" + value + ")" : "None";
+    }
+}
@@ -0,0 +1,131 @@
+package com.djordje.control;
+
+import io.vavr.control.Option;
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Option of a long that doesn't box.
+ *
+ * Option&lt;Long&gt; allocates a Long and a Some for every value outside the Long cache. OptionLong keeps
+ * the long in a field, hands out one shared empty instance and preallocated instances for small values, so
+ * chains like of(x).filter(...).map(...).getOrElse(-1) on small values allocate nothing and the rest are left
+ * to escape analysis.
+ */
+public final class OptionLong {
+
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1023;
+    private static final OptionLong EMPTY = new OptionLong(false, 0);
+    private static final OptionLong[] CACHE = new OptionLong[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new OptionLong(true, CACHE_LOW + i);
+        }
+    }
+
+    private final boolean defined;
+    private final long value;
+
+    private OptionLong(boolean defined, long value) {
+        this.defined = defined;
+        this.value = value;
+    }
+
+    public static OptionLong of(long value) {
+        return value >= CACHE_LOW && value <= CACHE_HIGH ? CACHE[(int) value - CACHE_LOW] : new OptionLong(true, value);
+    }
+
+    public static OptionLong empty() {
+        return EMPTY;
+    }
+
+    //null becomes empty
+    public static OptionLong ofNullable(Long value) {
+        return value == null ? EMPTY : of(value);
+    }
+
+    public boolean isEmpty() {
+        return !defined;
+    }
+
+    public boolean isDefined() {
+        return defined;
+    }
+
+    public long get() {
+        if (!defined) {
+            throw new NoSuchElementException("No value present");
+        }
+        return value;
+    }
+
+    public long getOrElse(long other) {
+        return defined ? value : other;
+    }
+
+    public long getOrElse(LongSupplier other) {
+        return defined ? value : other.getAsLong();
+    }
+
+    public OptionLong map(LongUnaryOperator mapper) {
+        return defined ? of(mapper.applyAsLong(value)) : EMPTY;
+    }
+
+    public <U> Option<U> mapToObj(LongFunction<? extends U> mapper) {
+        return defined ? Option.of(mapper.apply(value)) : Option.none();
+    }
+
+    public OptionLong filter(LongPredicate predicate) {
+        return defined && predicate.test(value) ? this : EMPTY;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (defined) {
+            action.accept(value);
+        }
+    }
+
+    public OptionLong peek(LongConsumer action) {
+        forEach(action);
+        return this;
+    }
+
+    public OptionLong onEmpty(Runnable action) {
+        if (!defined) {
+            action.run();
+        }
+        return this;
+    }
+
+    public Option<Long> boxed() {
+        return defined ? Option.some(value) : Option.none();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OptionLong)) {
+            return false;
+        }
+        OptionLong other = (OptionLong) o;
+        return defined == other.defined && value == other.value;
+    }
+
+    @Override
+    public int hashCode() {
+        return defined ? Long.hashCode(value) : 1;
+    }
+
+    @Override
+    public String toString() {
+        return defined ? "Some(" + value + ")" : "None";
+    }
+}
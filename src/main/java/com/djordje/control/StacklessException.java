@@ -0,0 +1,27 @@
+package com.djordje.control;
+
+import io.vavr.control.Try;
+
+/**
+ * RuntimeException for expected failures: it records no stack trace and no suppressed exceptions, so
+ * creating one costs about as much as any small object.
+ *
+ * Kept in a static final field it costs nothing at all, and toFailure() hands out the same preallocated
+ * Try failure every time instead of wrapping it again.
+ */
+public class StacklessException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Try<Object> failure;
+
+    public StacklessException(String message) {
+        super(message, null, false, false);
+        this.failure = Try.failure(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Try<T> toFailure() {
+        return (Try<T>) failure;
+    }
+}
@@ -0,0 +1,184 @@
+package com.djordje.control;
+
+import io.vavr.collection.Array;
+import io.vavr.collection.Seq;
+import io.vavr.control.Try;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Try combinators vavr doesn't have.
+ */
+public final class Tries {
+
+    private Tries() {
+    }
+
+    /**
+     * Like attempt.recoverWith(exception, Try.of(...)), except the recovery is only built when attempt failed
+     * with the given exception. Use it when the fallback is expensive, a secondary lookup for instance.
+     */
+    public static <T, X extends Throwable> Try<T> recoverWith(Try<T> attempt, Class<X> exception,
+                                                              Supplier<? extends Try<? extends T>> recovery) {
+        return attempt.recoverWith(exception, x -> recovery.get());
+    }
+
+    //same as recoverWith for a recovery value
+    public static <T, X extends Throwable> Try<T> recover(Try<T> attempt, Class<X> exception,
+                                                          Supplier<? extends T> recovery) {
+        return attempt.recover(exception, x -> recovery.get());
+    }
+
+    /**
+     * Like Try.sequence(values.map(f)), with f applied in parallel on the given fork-join pool.
+     *
+     * The result keeps the input order. On failure the result is the failure of the first failing element in
+     * input order, exactly what the sequential version returns, and elements after a known failure are not
+     * evaluated anymore.
+     */
+    public static <T, U> Try<Seq<U>> traverseParallel(Iterable<? extends T> values,
+                                                      Function<? super T, ? extends Try<? extends U>> f,
+                                                      ForkJoinPool pool) {
+        Object[] inputs = toArray(values);
+        int size = inputs.length;
+        Try<?>[] results = new Try<?>[size];
+        AtomicInteger firstFailure = new AtomicInteger(size);
+        int threshold = Math.max(1, size / (pool.getParallelism() * 8));
+        pool.invoke(new TraverseTask<>(inputs, results, f, firstFailure, 0, size, threshold));
+
+        int failed = firstFailure.get();
+        if (failed < size) {
+            return Try.failure(results[failed].getCause());
+        }
+        Object[] successes = new Object[size];
+        for (int i = 0; i < size; i++) {
+            successes[i] = results[i].get();
+        }
+        return Try.success(narrow(Array.of(successes)));
+    }
+
+    public static <T, U> Try<Seq<U>> traverseParallel(Iterable<? extends T> values,
+                                                      Function<? super T, ? extends Try<? extends U>> f) {
+        return traverseParallel(values, f, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Like Try.sequence, but pulls the tries one at a time and stops at the first failure, so the input is never
+     * materialized. Successes go into a buffer pre-sized with sizeHint, memory stays in the order of the result.
+     */
+    public static <T> Try<Seq<T>> sequence(Iterator<? extends Try<? extends T>> tries, int sizeHint) {
+        return traverse(tries, Function.<Try<? extends T>>identity(), sizeHint);
+    }
+
+    public static <T> Try<Seq<T>> sequence(Stream<? extends Try<? extends T>> tries) {
+        return traverse(tries, Function.<Try<? extends T>>identity());
+    }
+
+    public static <T, U> Try<Seq<U>> traverse(Iterator<? extends T> values,
+                                              Function<? super T, ? extends Try<? extends U>> f, int sizeHint) {
+        ArrayList<U> buffer = new ArrayList<>(Math.max(sizeHint, 0));
+        while (values.hasNext()) {
+            Try<? extends U> result = f.apply(values.next());
+            if (result.isFailure()) {
+                return Try.failure(result.getCause());
+            }
+            buffer.add(result.get());
+        }
+        return Try.success(Array.ofAll(buffer));
+    }
+
+    //a sized stream pre-sizes the buffer with its exact size
+    public static <T, U> Try<Seq<U>> traverse(Stream<? extends T> values,
+                                              Function<? super T, ? extends Try<? extends U>> f) {
+        Spliterator<? extends T> spliterator = values.spliterator();
+        long size = spliterator.getExactSizeIfKnown();
+        int sizeHint = size < 0 || size > Integer.MAX_VALUE ? 16 : (int) size;
+        return traverse(Spliterators.iterator(spliterator), f, sizeHint);
+    }
+
+    private static Object[] toArray(Iterable<?> values) {
+        if (values instanceof Collection) {
+            return ((Collection<?>) values).toArray();
+        }
+        if (values instanceof Seq) {
+            return ((Seq<?>) values).toJavaArray();
+        }
+        ArrayList<Object> list = new ArrayList<>();
+        values.forEach(list::add);
+        return list.toArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <U> Seq<U> narrow(Seq<?> seq) {
+        return (Seq<U>) seq;
+    }
+
+    private static final class TraverseTask<T, U> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] inputs;
+        private final Try<?>[] results;
+        private final Function<? super T, ? extends Try<? extends U>> f;
+        private final AtomicInteger firstFailure;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        TraverseTask(Object[] inputs, Try<?>[] results, Function<? super T, ? extends Try<? extends U>> f,
+                     AtomicInteger firstFailure, int from, int to, int threshold) {
+            this.inputs = inputs;
+            this.results = results;
+            this.f = f;
+            this.firstFailure = firstFailure;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (from >= firstFailure.get()) {
+                return;
+            }
+            if (to - from <= threshold) {
+                for (int i = from; i < to && i < firstFailure.get(); i++) {
+                    Try<?> result = apply(i);
+                    results[i] = result;
+                    if (result.isFailure()) {
+                        lowerFirstFailure(i);
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TraverseTask<>(inputs, results, f, firstFailure, from, middle, threshold),
+                new TraverseTask<>(inputs, results, f, firstFailure, middle, to, threshold));
+        }
+
+        @SuppressWarnings("unchecked")
+        private Try<?> apply(int i) {
+            try {
+                return f.apply((T) inputs[i]);
+            } catch (RuntimeException e) {
+                return Try.failure(e);
+            }
+        }
+
+        private void lowerFirstFailure(int index) {
+            int current;
+            while (index < (current = firstFailure.get()) && !firstFailure.compareAndSet(current, index)) {
+                //another element failed meanwhile, retry against its index
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.djordje.lazy;
+
+import io.vavr.control.Option;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+
+/**
+ * Lazy value initialized through a CAS state machine instead of a monitor.
+ *
+ * Once initialized get() is a single volatile read plus a type check. During initialization exactly one
+ * thread runs the supplier, the others park on its result instead of queueing on a lock. If the supplier
+ * throws, every waiting thread gets the exception and the next get() tries again.
+ *
+ * Every initialization is measured, initStats() tells how long it took, which thread ran it and how many
+ * threads waited, and an optional LazyInitListener gets the same numbers as they happen.
+ *
+ * The project targets Java 8, so the state is updated through an AtomicReferenceFieldUpdater rather than a
+ * VarHandle, which compiles to the same CAS.
+ */
+public final class AtomicLazy<T> implements Supplier<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<AtomicLazy, Object> STATE =
+        AtomicReferenceFieldUpdater.newUpdater(AtomicLazy.class, Object.class, "state");
+
+    private static final Marker PENDING = new Marker();
+    private static final Marker NULL = new Marker();
+
+    //PENDING, a Running initialization, NULL or the value itself
+    private volatile Object state = PENDING;
+    //dropped once the value is there, only the thread running the initialization reads it
+    private Supplier<? extends T> supplier;
+    private final String name;
+    private final LazyInitListener listener;
+    private volatile LazyInitStats initStats;
+
+    private AtomicLazy(String name, Supplier<? extends T> supplier, LazyInitListener listener) {
+        this.name = name;
+        this.supplier = supplier;
+        this.listener = listener;
+    }
+
+    public static <T> AtomicLazy<T> of(Supplier<? extends T> supplier) {
+        return new AtomicLazy<>("lazy", supplier, LazyInitListener.NONE);
+    }
+
+    public static <T> AtomicLazy<T> of(String name, Supplier<? extends T> supplier, LazyInitListener listener) {
+        return new AtomicLazy<>(name, supplier, listener);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object current = state;
+        if (!(current instanceof Marker)) {
+            return (T) current;
+        }
+        return current == NULL ? null : initialize();
+    }
+
+    //stats of the last initialization attempt, none before the first one finished
+    public Option<LazyInitStats> initStats() {
+        return Option.of(initStats);
+    }
+
+    public boolean isEvaluated() {
+        Object current = state;
+        return !(current instanceof Marker) || current == NULL;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T initialize() {
+        for (;;) {
+            Object current = state;
+            if (!(current instanceof Marker)) {
+                return (T) current;
+            }
+            if (current == NULL) {
+                return null;
+            }
+            if (current instanceof Running) {
+                return await((Running) current);
+            }
+            Running running = new Running();
+            if (STATE.compareAndSet(this, PENDING, running)) {
+                return run(running);
+            }
+        }
+    }
+
+    private T run(Running running) {
+        long start = System.nanoTime();
+        T value;
+        try {
+            value = supplier.get();
+        } catch (Throwable e) {//includes checked exceptions thrown sneakily, like Try.get() does
+            state = PENDING;
+            LazyInitStats stats = record(running, start, true);
+            running.done.completeExceptionally(e);
+            listener.onInit(stats);
+            throw e;
+        }
+        state = value == null ? NULL : value;
+        supplier = null;
+        LazyInitStats stats = record(running, start, false);
+        running.done.complete(value);
+        listener.onInit(stats);
+        return value;
+    }
+
+    //waiters that saw Running right before the state changed may not be counted yet
+    private LazyInitStats record(Running running, long start, boolean failed) {
+        LazyInitStats stats = new LazyInitStats(name, System.nanoTime() - start, Thread.currentThread().getName(),
+            running.waiters.get(), failed);
+        initStats = stats;
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T await(Running running) {
+        running.waiters.incrementAndGet();
+        try {
+            return (T) running.done.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AtomicLazy(" + name + ", " + (isEvaluated() ? get() : "?") + ")";
+    }
+
+    private static class Marker {
+    }
+
+    private static final class Running extends Marker {
+        final CompletableFuture<Object> done = new CompletableFuture<>();
+        final AtomicInteger waiters = new AtomicInteger(0);
+    }
+}
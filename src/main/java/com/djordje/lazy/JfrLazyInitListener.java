@@ -0,0 +1,38 @@
+package com.djordje.lazy;
+
+/**
+ * Records every initialization as a com.djordje.lazy.LazyInit JFR event.
+ *
+ * The project compiles for Java 8, whose runtimes only ship jdk.jfr from 8u262 on, so the API is looked up
+ * first and LazyInitEvent is only touched when it is there. Without it the listener is NONE.
+ */
+final class JfrLazyInitListener implements LazyInitListener {
+
+    static final LazyInitListener INSTANCE = lookup();
+
+    private JfrLazyInitListener() {
+    }
+
+    private static LazyInitListener lookup() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return new JfrLazyInitListener();
+        } catch (ClassNotFoundException | LinkageError e) {
+            return NONE;
+        }
+    }
+
+    @Override
+    public void onInit(LazyInitStats stats) {
+        LazyInitEvent event = new LazyInitEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.name = stats.name();
+        event.initDuration = stats.durationNanos();
+        event.initializingThread = stats.threadName();
+        event.waiters = stats.waiters();
+        event.failed = stats.failed();
+        event.commit();
+    }
+}
@@ -0,0 +1,70 @@
+package com.djordje.lazy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Group of lazy values warmed up together at startup, so no request pays for their initialization.
+ *
+ * Any Supplier works, vavr's Lazy, AtomicLazy and RefreshingLazy included. A value is only initialized after
+ * the values it depends on, everything else runs concurrently on the given executor. Dependencies have to be
+ * registered first, which rules out cycles. If a value fails to initialize the values depending on it are
+ * skipped and the returned future completes with that failure.
+ */
+public final class LazyGroup {
+
+    private final Map<String, Registration> registrations = new LinkedHashMap<>();
+
+    public synchronized LazyGroup register(String name, Supplier<?> lazy, String... dependsOn) {
+        if (registrations.containsKey(name)) {
+            throw new IllegalArgumentException("A lazy value named " + name + " is already registered");
+        }
+        for (String dependency : dependsOn) {
+            if (!registrations.containsKey(dependency)) {
+                throw new IllegalArgumentException(name + " depends on " + dependency + " which has to be registered first");
+            }
+        }
+        registrations.put(name, new Registration(lazy, dependsOn));
+        return this;
+    }
+
+    public CompletableFuture<Void> warmUp(Executor executor) {
+        Map<String, Registration> snapshot;
+        synchronized (this) {
+            snapshot = new LinkedHashMap<>(registrations);
+        }
+        Map<String, CompletableFuture<Void>> warmed = new HashMap<>();
+        List<CompletableFuture<Void>> all = new ArrayList<>();
+        snapshot.forEach((name, registration) -> {
+            CompletableFuture<?>[] dependencies = new CompletableFuture<?>[registration.dependsOn.length];
+            for (int i = 0; i < dependencies.length; i++) {
+                dependencies[i] = warmed.get(registration.dependsOn[i]);
+            }
+            CompletableFuture<Void> warm = CompletableFuture.allOf(dependencies)
+                .thenRunAsync(registration.lazy::get, executor);
+            warmed.put(name, warm);
+            all.add(warm);
+        });
+        return CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0]));
+    }
+
+    public synchronized int size() {
+        return registrations.size();
+    }
+
+    private static final class Registration {
+        final Supplier<?> lazy;
+        final String[] dependsOn;
+
+        Registration(Supplier<?> lazy, String[] dependsOn) {
+            this.lazy = lazy;
+            this.dependsOn = dependsOn.clone();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.djordje.lazy;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event committed by {@link JfrLazyInitListener}, one per initialization attempt of an {@link AtomicLazy}.
+ *
+ * Only loaded once the runtime is known to have jdk.jfr.
+ */
+@Name("com.djordje.lazy.LazyInit")
+@Label("Lazy Initialization")
+@Category("Lazy")
+@Description("Initialization of an AtomicLazy value")
+@StackTrace(false)
+final class LazyInitEvent extends Event {
+
+    @Label("Name")
+    String name;
+
+    @Label("Initialization Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long initDuration;
+
+    @Label("Initializing Thread")
+    String initializingThread;
+
+    @Label("Waiters")
+    int waiters;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,20 @@
+package com.djordje.lazy;
+
+/**
+ * Notified on the initializing thread every time an {@link AtomicLazy} finished, or failed, to initialize.
+ * Hook metrics or logging in here to find which lazy values slow down the first requests after a deploy, or
+ * use jfr() to see them in a flight recording next to the GC and I/O of those requests.
+ */
+@FunctionalInterface
+public interface LazyInitListener {
+
+    LazyInitListener NONE = stats -> {
+    };
+
+    void onInit(LazyInitStats stats);
+
+    //a com.djordje.lazy.LazyInit JFR event per initialization, NONE on runtimes without JFR
+    static LazyInitListener jfr() {
+        return JfrLazyInitListener.INSTANCE;
+    }
+}
@@ -0,0 +1,48 @@
+package com.djordje.lazy;
+
+/**
+ * How the initialization of an {@link AtomicLazy} went: how long the supplier ran, on which thread and how
+ * many other threads were parked waiting for it.
+ */
+public final class LazyInitStats {
+
+    private final String name;
+    private final long durationNanos;
+    private final String threadName;
+    private final int waiters;
+    private final boolean failed;
+
+    LazyInitStats(String name, long durationNanos, String threadName, int waiters, boolean failed) {
+        this.name = name;
+        this.durationNanos = durationNanos;
+        this.threadName = threadName;
+        this.waiters = waiters;
+        this.failed = failed;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long durationNanos() {
+        return durationNanos;
+    }
+
+    public String threadName() {
+        return threadName;
+    }
+
+    public int waiters() {
+        return waiters;
+    }
+
+    public boolean failed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyInitStats(name=" + name + ", durationNanos=" + durationNanos + ", thread=" + threadName
+            + ", waiters=" + waiters + ", failed=" + failed + ")";
+    }
+}
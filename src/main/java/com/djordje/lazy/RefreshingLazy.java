@@ -0,0 +1,83 @@
+package com.djordje.lazy;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Lazy value that goes stale refreshAfter after it was computed, for things like feature flags or rate limits.
+ *
+ * Only the very first get() waits for the supplier. A get() on a stale value returns it right away and starts
+ * a single recomputation on the executor, the fresh value replaces it once ready. A failed refresh keeps the
+ * previous value and the next get() tries again.
+ */
+public final class RefreshingLazy<T> implements Supplier<T> {
+
+    private final Supplier<? extends T> supplier;
+    private final long refreshAfterNanos;
+    private final Executor executor;
+    private final LongSupplier ticker;
+    private final AtomicLazy<Snapshot<T>> first;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private volatile Snapshot<T> current;
+
+    RefreshingLazy(Supplier<? extends T> supplier, Duration refreshAfter, Executor executor, LongSupplier ticker) {
+        if (refreshAfter.isNegative() || refreshAfter.isZero()) {
+            throw new IllegalArgumentException("refreshAfter must be positive but was " + refreshAfter);
+        }
+        this.supplier = supplier;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.executor = executor;
+        this.ticker = ticker;
+        this.first = AtomicLazy.of(() -> current = load());
+    }
+
+    public static <T> RefreshingLazy<T> of(Supplier<? extends T> supplier, Duration refreshAfter, Executor executor) {
+        return new RefreshingLazy<>(supplier, refreshAfter, executor, System::nanoTime);
+    }
+
+    @Override
+    public T get() {
+        Snapshot<T> snapshot = current;
+        if (snapshot == null) {
+            snapshot = first.get();
+        }
+        if (ticker.getAsLong() - snapshot.loadedAt >= refreshAfterNanos && refreshing.compareAndSet(false, true)) {
+            refresh();
+        }
+        return snapshot.value;
+    }
+
+    private void refresh() {
+        try {
+            executor.execute(() -> {
+                try {
+                    current = load();
+                } catch (RuntimeException e) {
+                    //the previous value stays until a later refresh succeeds
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private Snapshot<T> load() {
+        return new Snapshot<>(supplier.get(), ticker.getAsLong());
+    }
+
+    private static final class Snapshot<T> {
+        final T value;
+        final long loadedAt;
+
+        Snapshot(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
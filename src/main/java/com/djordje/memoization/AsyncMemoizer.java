@@ -0,0 +1,84 @@
+package com.djordje.memoization;
+
+import io.vavr.Function1;
+import io.vavr.concurrent.Future;
+import io.vavr.concurrent.Promise;
+import io.vavr.control.Try;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Memoization of a blocking Function1 into a Function1 returning a vavr Future.
+ *
+ * The cache holds the Future itself, so callers asking for a key that is still being computed share the one
+ * in-flight computation and no caller thread ever blocks. Misses are computed on the given executor,
+ * VirtualThreads.newExecutor() is a good fit for functions blocking on I/O. Failed Futures are dropped from
+ * the cache so the next caller tries again.
+ *
+ * The loader handed to the cache starts a new computation every time it runs, so a cache that reloads on its
+ * own, like ExpiringCache with refresh-ahead, gets a fresh Future instead of the one it already holds.
+ */
+public final class AsyncMemoizer {
+
+    private AsyncMemoizer() {
+    }
+
+    public static <K, V> Function1<K, Future<V>> memoize(Function1<K, V> f, ExecutorService executor,
+                                                         MemoizationCache<K, Future<V>> cache) {
+        return key -> {
+            Future<V> cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            //the promise is cheap, the computation only starts if the cache took it, a loader that lost the
+            //race to another caller's is never called; a cache that calls loaders outside its lock, like
+            //LruCache, can still call both, SingleFlightCache keeps that to one
+            Load<K, V> load = new Load<>(f, executor, cache);
+            Future<V> shared = cache.computeIfAbsent(key, load);
+            if (!load.handedOut.compareAndSet(false, true)) {
+                load.start(load.first, key);
+            }
+            return shared;
+        };
+    }
+
+    //the first call during the caller's computeIfAbsent hands out its promise, every later one is a reload and
+    //starts a new computation
+    private static final class Load<K, V> implements Function<K, Future<V>> {
+        private final Function1<K, V> f;
+        private final ExecutorService executor;
+        private final MemoizationCache<K, Future<V>> cache;
+        private final Promise<V> first;
+        private final AtomicBoolean handedOut = new AtomicBoolean(false);
+
+        Load(Function1<K, V> f, ExecutorService executor, MemoizationCache<K, Future<V>> cache) {
+            this.f = f;
+            this.executor = executor;
+            this.cache = cache;
+            this.first = Promise.make(executor);
+        }
+
+        @Override
+        public Future<V> apply(K key) {
+            if (handedOut.compareAndSet(false, true)) {
+                return first.future();
+            }
+            Promise<V> reload = Promise.make(executor);
+            start(reload, key);
+            return reload.future();
+        }
+
+        void start(Promise<V> promise, K key) {
+            Future<V> future = promise.future();
+            //only this future, a newer one cached in the meantime stays
+            future.onFailure(e -> cache.invalidate(key, future));
+            try {
+                executor.execute(() -> promise.complete(Try.of(() -> f.apply(key))));
+            } catch (RejectedExecutionException e) {
+                promise.failure(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.djordje.memoization;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache whose entries expire a fixed time after they were loaded.
+ *
+ * With refresh-ahead an entry older than refreshAfter but younger than expireAfter is still returned, while a
+ * single background task on the refresh executor recomputes it. Callers only pay the load on a real miss or
+ * when nobody asked for the key during the whole refresh window. A failed refresh keeps the old value until
+ * it expires. Every entry remembers the loader that produced it, so a hit through getIfPresent starts the
+ * refresh too: wrappers such as InstrumentedCache and SingleFlightCache look up hits that way.
+ */
+public class ExpiringCache<K, V> implements MemoizationCache<K, V> {
+
+    private final long expireAfterNanos;
+    private final long refreshAfterNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier ticker;
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(Duration expireAfter) {
+        this(expireAfter, null, ForkJoinPool.commonPool(), System::nanoTime);
+    }
+
+    public ExpiringCache(Duration expireAfter, Duration refreshAfter, Executor refreshExecutor) {
+        this(expireAfter, refreshAfter, refreshExecutor, System::nanoTime);
+    }
+
+    ExpiringCache(Duration expireAfter, Duration refreshAfter, Executor refreshExecutor, LongSupplier ticker) {
+        if (expireAfter.isNegative() || expireAfter.isZero()) {
+            throw new IllegalArgumentException("expireAfter must be positive but was " + expireAfter);
+        }
+        if (refreshAfter != null && refreshAfter.compareTo(expireAfter) >= 0) {
+            throw new IllegalArgumentException("refreshAfter must be shorter than expireAfter but was " + refreshAfter);
+        }
+        this.expireAfterNanos = expireAfter.toNanos();
+        this.refreshAfterNanos = refreshAfter == null ? Long.MAX_VALUE : refreshAfter.toNanos();
+        this.refreshExecutor = refreshExecutor;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long age = ticker.getAsLong() - entry.loadedAt;
+        if (age >= expireAfterNanos) {
+            expire(key, entry);
+            return null;
+        }
+        if (age >= refreshAfterNanos && entry.refreshing.compareAndSet(false, true)) {
+            refreshAhead(key, entry, entry.loader);
+        }
+        return entry.value;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry != null) {
+            long age = ticker.getAsLong() - entry.loadedAt;
+            if (age < expireAfterNanos) {
+                if (age >= refreshAfterNanos && entry.refreshing.compareAndSet(false, true)) {
+                    refreshAhead(key, entry, loader);
+                }
+                return entry.value;
+            }
+            expire(key, entry);
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            entries.put(key, new Entry<>(loaded, ticker.getAsLong(), loader));
+        }
+        return loaded;
+    }
+
+    private void expire(K key, Entry<K, V> entry) {
+        if (entries.remove(key, entry)) {
+            evictions.increment();
+        }
+    }
+
+    private void refreshAhead(K key, Entry<K, V> stale, Function<? super K, ? extends V> loader) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    V loaded = loader.apply(key);
+                    if (loaded != null) {
+                        entries.replace(key, stale, new Entry<>(loaded, ticker.getAsLong(), loader));
+                    } else {
+                        stale.refreshing.set(false);
+                    }
+                } catch (RuntimeException e) {
+                    stale.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stale.refreshing.set(false);
+        }
+    }
+
+    //entries are only dropped when they are looked up after expiring, this drops all expired ones at once
+    public void cleanUp() {
+        long now = ticker.getAsLong();
+        entries.forEach((key, entry) -> {
+            if (now - entry.loadedAt >= expireAfterNanos) {
+                expire(key, entry);
+            }
+        });
+    }
+
+    @Override
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void invalidate(K key, V expected) {
+        entries.computeIfPresent(key, (k, entry) -> expected.equals(entry.value) ? null : entry);
+    }
+
+    @Override
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    @Override
+    public long size() {
+        return entries.size();
+    }
+
+    @Override
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private static final class Entry<K, V> {
+        final V value;
+        final long loadedAt;
+        final Function<? super K, ? extends V> loader;
+        final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        Entry(V value, long loadedAt, Function<? super K, ? extends V> loader) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.loader = loader;
+        }
+    }
+}
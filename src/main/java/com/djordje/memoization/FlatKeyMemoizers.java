@@ -0,0 +1,106 @@
+package com.djordje.memoization;
+
+import io.vavr.Function2;
+import io.vavr.Function3;
+import io.vavr.Function4;
+import io.vavr.Function5;
+import io.vavr.Function6;
+import io.vavr.Function7;
+import io.vavr.Function8;
+
+/**
+ * Memoization of Function2..Function8 without allocating a TupleN key per call.
+ *
+ * Arguments are hashed and compared in place in a {@link FlatKeyTable}, a key array is only allocated when a
+ * miss is stored. Like FunctionN.memoized() the cache is unbounded. Two threads missing on the same arguments
+ * may both compute them, the first result stored wins.
+ */
+public final class FlatKeyMemoizers {
+
+    private FlatKeyMemoizers() {
+    }
+
+    public static <T1, T2, R> Function2<T1, T2, R> memoize(Function2<T1, T2, R> f) {
+        FlatKeyTable<R> table = new FlatKeyTable<>(2);
+        return (t1, t2) -> {
+            R cached = table.get(t1, t2, null, null, null, null, null, null);
+            if (cached != null) {
+                return cached;
+            }
+            R loaded = f.apply(t1, t2);
+            return loaded == null ? null : table.putIfAbsent(new Object[]{t1, t2}, loaded);
+        };
+    }
+
+    public static <T1, T2, T3, R> Function3<T1, T2, T3, R> memoize(Function3<T1, T2, T3, R> f) {
+        FlatKeyTable<R> table = new FlatKeyTable<>(3);
+        return (t1, t2, t3) -> {
+            R cached = table.get(t1, t2, t3, null, null, null, null, null);
+            if (cached != null) {
+                return cached;
+            }
+            R loaded = f.apply(t1, t2, t3);
+            return loaded == null ? null : table.putIfAbsent(new Object[]{t1, t2, t3}, loaded);
+        };
+    }
+
+    public static <T1, T2, T3, T4, R> Function4<T1, T2, T3, T4, R> memoize(Function4<T1, T2, T3, T4, R> f) {
+        FlatKeyTable<R> table = new FlatKeyTable<>(4);
+        return (t1, t2, t3, t4) -> {
+            R cached = table.get(t1, t2, t3, t4, null, null, null, null);
+            if (cached != null) {
+                return cached;
+            }
+            R loaded = f.apply(t1, t2, t3, t4);
+            return loaded == null ? null : table.putIfAbsent(new Object[]{t1, t2, t3, t4}, loaded);
+        };
+    }
+
+    public static <T1, T2, T3, T4, T5, R> Function5<T1, T2, T3, T4, T5, R> memoize(Function5<T1, T2, T3, T4, T5, R> f) {
+        FlatKeyTable<R> table = new FlatKeyTable<>(5);
+        return (t1, t2, t3, t4, t5) -> {
+            R cached = table.get(t1, t2, t3, t4, t5, null, null, null);
+            if (cached != null) {
+                return cached;
+            }
+            R loaded = f.apply(t1, t2, t3, t4, t5);
+            return loaded == null ? null : table.putIfAbsent(new Object[]{t1, t2, t3, t4, t5}, loaded);
+        };
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, R> Function6<T1, T2, T3, T4, T5, T6, R> memoize(Function6<T1, T2, T3, T4, T5, T6, R> f) {
+        FlatKeyTable<R> table = new FlatKeyTable<>(6);
+        return (t1, t2, t3, t4, t5, t6) -> {
+            R cached = table.get(t1, t2, t3, t4, t5, t6, null, null);
+            if (cached != null) {
+                return cached;
+            }
+            R loaded = f.apply(t1, t2, t3, t4, t5, t6);
+            return loaded == null ? null : table.putIfAbsent(new Object[]{t1, t2, t3, t4, t5, t6}, loaded);
+        };
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, T7, R> Function7<T1, T2, T3, T4, T5, T6, T7, R> memoize(Function7<T1, T2, T3, T4, T5, T6, T7, R> f) {
+        FlatKeyTable<R> table = new FlatKeyTable<>(7);
+        return (t1, t2, t3, t4, t5, t6, t7) -> {
+            R cached = table.get(t1, t2, t3, t4, t5, t6, t7, null);
+            if (cached != null) {
+                return cached;
+            }
+            R loaded = f.apply(t1, t2, t3, t4, t5, t6, t7);
+            return loaded == null ? null : table.putIfAbsent(new Object[]{t1, t2, t3, t4, t5, t6, t7}, loaded);
+        };
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, T7, T8, R> Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> memoize(Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> f) {
+        FlatKeyTable<R> table = new FlatKeyTable<>(8);
+        return (t1, t2, t3, t4, t5, t6, t7, t8) -> {
+            R cached = table.get(t1, t2, t3, t4, t5, t6, t7, t8);
+            if (cached != null) {
+                return cached;
+            }
+            R loaded = f.apply(t1, t2, t3, t4, t5, t6, t7, t8);
+            return loaded == null ? null : table.putIfAbsent(new Object[]{t1, t2, t3, t4, t5, t6, t7, t8}, loaded);
+        };
+    }
+}
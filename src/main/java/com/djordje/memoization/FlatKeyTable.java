@@ -0,0 +1,158 @@
+package com.djordje.memoization;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open addressing table keyed on up to 8 arguments stored flat, arity slots per entry, in one Object[].
+ *
+ * Lookups hash and compare the arguments in place, so a hit allocates nothing. Reads take no lock, the same
+ * way as in IntKeyTable: key slots are written before the value is published and a full table is replaced
+ * by a bigger copy. Unused trailing arguments are passed as null.
+ */
+final class FlatKeyTable<V> {
+
+    private final int arity;
+    private volatile Table table;
+
+    FlatKeyTable(int arity) {
+        if (arity < 1 || arity > 8) {
+            throw new IllegalArgumentException("arity must be between 1 and 8 but was " + arity);
+        }
+        this.arity = arity;
+        this.table = new Table(16, arity);
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8) {
+        int hash = hash(a1, a2, a3, a4, a5, a6, a7, a8);
+        Table t = table;
+        int mask = t.hashes.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Object value = t.values.get(i);
+            if (value == null) {
+                return null;
+            }
+            if (t.hashes[i] == hash && matches(t.keys, i * arity, a1, a2, a3, a4, a5, a6, a7, a8)) {
+                return (V) value;
+            }
+        }
+    }
+
+    //returns the value already present for the key, if any, or the given one
+    @SuppressWarnings("unchecked")
+    synchronized V putIfAbsent(Object[] key, V value) {
+        Object a1 = at(key, 0), a2 = at(key, 1), a3 = at(key, 2), a4 = at(key, 3);
+        Object a5 = at(key, 4), a6 = at(key, 5), a7 = at(key, 6), a8 = at(key, 7);
+        int hash = hash(a1, a2, a3, a4, a5, a6, a7, a8);
+        Table t = table;
+        if ((t.size + 1) * 2 > t.hashes.length) {
+            t = resize(t);
+        }
+        int mask = t.hashes.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Object present = t.values.get(i);
+            if (present == null) {
+                t.hashes[i] = hash;
+                System.arraycopy(key, 0, t.keys, i * arity, arity);
+                t.values.set(i, value);
+                t.size++;
+                return value;
+            }
+            if (t.hashes[i] == hash && matches(t.keys, i * arity, a1, a2, a3, a4, a5, a6, a7, a8)) {
+                return (V) present;
+            }
+        }
+    }
+
+    synchronized int size() {
+        return table.size;
+    }
+
+    private Table resize(Table old) {
+        Table bigger = new Table(old.hashes.length * 2, arity);
+        int mask = bigger.hashes.length - 1;
+        for (int j = 0; j < old.hashes.length; j++) {
+            Object value = old.values.get(j);
+            if (value != null) {
+                int i = old.hashes[j] & mask;
+                while (bigger.values.get(i) != null) {
+                    i = (i + 1) & mask;
+                }
+                bigger.hashes[i] = old.hashes[j];
+                System.arraycopy(old.keys, j * arity, bigger.keys, i * arity, arity);
+                bigger.values.set(i, value);
+            }
+        }
+        bigger.size = old.size;
+        table = bigger;
+        return bigger;
+    }
+
+    //falls through from the last argument down to the first
+    private boolean matches(Object[] keys, int base,
+                            Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8) {
+        switch (arity) {
+            case 8:
+                if (!Objects.equals(keys[base + 7], a8)) {
+                    return false;
+                }
+            case 7:
+                if (!Objects.equals(keys[base + 6], a7)) {
+                    return false;
+                }
+            case 6:
+                if (!Objects.equals(keys[base + 5], a6)) {
+                    return false;
+                }
+            case 5:
+                if (!Objects.equals(keys[base + 4], a5)) {
+                    return false;
+                }
+            case 4:
+                if (!Objects.equals(keys[base + 3], a4)) {
+                    return false;
+                }
+            case 3:
+                if (!Objects.equals(keys[base + 2], a3)) {
+                    return false;
+                }
+            case 2:
+                if (!Objects.equals(keys[base + 1], a2)) {
+                    return false;
+                }
+            default:
+                return Objects.equals(keys[base], a1);
+        }
+    }
+
+    private static int hash(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8) {
+        int h = Objects.hashCode(a1);
+        h = 31 * h + Objects.hashCode(a2);
+        h = 31 * h + Objects.hashCode(a3);
+        h = 31 * h + Objects.hashCode(a4);
+        h = 31 * h + Objects.hashCode(a5);
+        h = 31 * h + Objects.hashCode(a6);
+        h = 31 * h + Objects.hashCode(a7);
+        h = 31 * h + Objects.hashCode(a8);
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static Object at(Object[] key, int index) {
+        return index < key.length ? key[index] : null;
+    }
+
+    private static final class Table {
+        final int[] hashes;
+        final Object[] keys;
+        final AtomicReferenceArray<Object> values;
+        int size;
+
+        Table(int capacity, int arity) {
+            hashes = new int[capacity];
+            keys = new Object[capacity * arity];
+            values = new AtomicReferenceArray<>(capacity);
+        }
+    }
+}
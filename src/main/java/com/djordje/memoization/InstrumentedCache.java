@@ -0,0 +1,94 @@
+package com.djordje.memoization;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Counts hits, misses, failed loads and load latency of the cache it wraps.
+ *
+ * Counters are LongAdders, a hit costs one uncontended increment, so it is fine to leave on in production.
+ * Load latency is the time a missing caller spent in the delegate, waiting on another caller's load included.
+ */
+public class InstrumentedCache<K, V> implements MemoizationCache<K, V> {
+
+    private static final int BUCKETS = 64;
+
+    private final MemoizationCache<K, V> delegate;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder[] loadTimeBuckets = new LongAdder[BUCKETS];
+
+    public InstrumentedCache(MemoizationCache<K, V> delegate) {
+        this.delegate = delegate;
+        for (int i = 0; i < BUCKETS; i++) {
+            loadTimeBuckets[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        V cached = delegate.getIfPresent(key);
+        (cached != null ? hits : misses).increment();
+        return cached;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V cached = delegate.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        long start = System.nanoTime();
+        try {
+            return delegate.computeIfAbsent(key, loader);
+        } catch (Throwable e) {
+            loadFailures.increment();
+            throw e;
+        } finally {
+            recordLoadTime(System.nanoTime() - start);
+        }
+    }
+
+    private void recordLoadTime(long nanos) {
+        totalLoadTime.add(nanos);
+        loadTimeBuckets[MemoizationStats.bucketOf(nanos)].increment();
+    }
+
+    public MemoizationStats stats() {
+        long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = loadTimeBuckets[i].sum();
+        }
+        return new MemoizationStats(hits.sum(), misses.sum(), loadFailures.sum(), totalLoadTime.sum(),
+            delegate.evictionCount(), delegate.size(), buckets);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        delegate.invalidate(key);
+    }
+
+    @Override
+    public void invalidate(K key, V expected) {
+        delegate.invalidate(key, expected);
+    }
+
+    @Override
+    public void invalidateAll() {
+        delegate.invalidateAll();
+    }
+
+    @Override
+    public long size() {
+        return delegate.size();
+    }
+
+    @Override
+    public long evictionCount() {
+        return delegate.evictionCount();
+    }
+}
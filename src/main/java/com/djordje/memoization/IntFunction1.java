@@ -0,0 +1,20 @@
+package com.djordje.memoization;
+
+import io.vavr.Function1;
+
+/**
+ * Function1 keyed on an int. Callers holding a primitive call applyInt and skip the Integer boxing,
+ * everyone else keeps using apply.
+ */
+@FunctionalInterface
+public interface IntFunction1<R> extends Function1<Integer, R> {
+
+    long serialVersionUID = 1L;
+
+    R applyInt(int key);
+
+    @Override
+    default R apply(Integer key) {
+        return applyInt(key);
+    }
+}
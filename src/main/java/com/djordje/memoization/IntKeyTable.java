@@ -0,0 +1,91 @@
+package com.djordje.memoization;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open addressing int to value table behind the int keyed memoizers.
+ *
+ * Reads take no lock and box nothing: the key is written before the value is published through the
+ * AtomicReferenceArray, and a full table is replaced by a bigger copy instead of being resized in place.
+ * Writes are serialized on the table.
+ */
+final class IntKeyTable<V> {
+
+    private volatile Table table = new Table(16);
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        Table t = table;
+        int mask = t.keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            Object value = t.values.get(i);
+            if (value == null) {
+                return null;
+            }
+            if (t.keys[i] == key) {
+                return (V) value;
+            }
+        }
+    }
+
+    //returns the value already present for the key, if any, or the given one
+    @SuppressWarnings("unchecked")
+    synchronized V putIfAbsent(int key, V value) {
+        Table t = table;
+        if ((t.size + 1) * 2 > t.keys.length) {
+            t = resize(t);
+        }
+        int mask = t.keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            Object present = t.values.get(i);
+            if (present == null) {
+                t.keys[i] = key;
+                t.values.set(i, value);
+                t.size++;
+                return value;
+            }
+            if (t.keys[i] == key) {
+                return (V) present;
+            }
+        }
+    }
+
+    synchronized int size() {
+        return table.size;
+    }
+
+    private Table resize(Table old) {
+        Table bigger = new Table(old.keys.length * 2);
+        int mask = bigger.keys.length - 1;
+        for (int j = 0; j < old.keys.length; j++) {
+            Object value = old.values.get(j);
+            if (value != null) {
+                int i = mix(old.keys[j]) & mask;
+                while (bigger.values.get(i) != null) {
+                    i = (i + 1) & mask;
+                }
+                bigger.keys[i] = old.keys[j];
+                bigger.values.set(i, value);
+            }
+        }
+        bigger.size = old.size;
+        table = bigger;
+        return bigger;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Table {
+        final int[] keys;
+        final AtomicReferenceArray<Object> values;
+        int size;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            values = new AtomicReferenceArray<>(capacity);
+        }
+    }
+}
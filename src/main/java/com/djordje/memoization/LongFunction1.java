@@ -0,0 +1,20 @@
+package com.djordje.memoization;
+
+import io.vavr.Function1;
+
+/**
+ * Function1 keyed on a long. Callers holding a primitive call applyLong and skip the Long boxing,
+ * everyone else keeps using apply.
+ */
+@FunctionalInterface
+public interface LongFunction1<R> extends Function1<Long, R> {
+
+    long serialVersionUID = 1L;
+
+    R applyLong(long key);
+
+    @Override
+    default R apply(Long key) {
+        return applyLong(key);
+    }
+}
@@ -0,0 +1,97 @@
+package com.djordje.memoization;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Size bounded cache that evicts the least recently used entry once it holds more than maxSize entries.
+ *
+ * Loads run outside the lock, so two threads missing on the same key may both compute it, the first one to
+ * finish wins. Wrap it in a SingleFlightCache when that is not acceptable.
+ */
+public class LruCache<K, V> implements MemoizationCache<K, V> {
+
+    private final int maxSize;
+    private final LinkedHashMap<K, V> entries;
+    private long evictions;
+
+    public LruCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive but was " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.apply(key);
+        if (loaded == null) {
+            return null;
+        }
+        synchronized (entries) {
+            V raced = entries.putIfAbsent(key, loaded);
+            return raced != null ? raced : loaded;
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void invalidate(K key, V expected) {
+        synchronized (entries) {
+            entries.remove(key, expected);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public long size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public long evictionCount() {
+        synchronized (entries) {
+            return evictions;
+        }
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+}
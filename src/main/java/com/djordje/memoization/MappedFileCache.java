@@ -0,0 +1,246 @@
+package com.djordje.memoization;
+
+import io.vavr.control.Try;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache persisted to a memory-mapped file, so what a memoized function learned survives a restart.
+ *
+ * The file is an append-only log of [key length][value length][key][value] records after a header holding
+ * a magic number and the end of the log. Nothing is read when the cache is opened: the first lookup scans
+ * the keys, and a value is only deserialized the first time its key is asked for. Once the file is full new
+ * entries are still memoized in memory, they just don't survive the next restart. Invalidating a key when
+ * its tombstone doesn't fit compacts the log instead, so an invalidated value never comes back.
+ *
+ * Records that don't deserialize any more, typically after a deploy changed a class, are treated as misses:
+ * the memoized function computes the value again and never fails because of the cache file.
+ */
+public class MappedFileCache<K, V> implements MemoizationCache<K, V>, Closeable {
+
+    private static final int MAGIC = 0x4D454D4F;
+    private static final int HEADER = 8;
+    private static final int TOMBSTONE = -1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+    private final ConcurrentHashMap<K, V> decoded = new ConcurrentHashMap<>();
+    //guarded by this: offsets of persisted records whose value was not deserialized yet
+    private final Map<K, Integer> persisted = new HashMap<>();
+    private boolean indexed;
+
+    private MappedFileCache(Path file, int capacityBytes, Serializer<K> keySerializer, Serializer<V> valueSerializer)
+        throws IOException {
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(capacityBytes, HEADER));
+        if (buffer.getInt(0) != MAGIC || end() < HEADER || end() > buffer.capacity()) {
+            reset();
+        }
+    }
+
+    public static <K, V> Try<MappedFileCache<K, V>> open(Path file, int capacityBytes,
+                                                         Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        return Try.of(() -> new MappedFileCache<>(file, capacityBytes, keySerializer, valueSerializer));
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        V cached = decoded.get(key);
+        return cached != null ? cached : readPersisted(key);
+    }
+
+    private synchronized V readPersisted(K key) {
+        index();
+        Integer offset = persisted.remove(key);
+        if (offset == null) {
+            return decoded.get(key);
+        }
+        int keyLength = buffer.getInt(offset);
+        int valueLength = buffer.getInt(offset + 4);
+        V value = decode(valueSerializer, read(offset + 8 + keyLength, valueLength));
+        if (value != null) {
+            decoded.put(key, value);
+        }
+        return value;
+    }
+
+    //null when the bytes were written by an incompatible version of the class
+    private static <T> T decode(Serializer<T> serializer, byte[] bytes) {
+        try {
+            return serializer.deserialize(bytes);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static <T> byte[] encode(Serializer<T> serializer, T value) {
+        try {
+            return serializer.serialize(value);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.apply(key);
+        if (loaded == null) {
+            return null;
+        }
+        synchronized (this) {
+            V raced = decoded.putIfAbsent(key, loaded);
+            if (raced != null) {
+                return raced;
+            }
+            byte[] keyBytes = encode(keySerializer, key);
+            byte[] valueBytes = encode(valueSerializer, loaded);
+            if (keyBytes != null && valueBytes != null) {
+                append(keyBytes, valueBytes);
+            }
+            return loaded;
+        }
+    }
+
+    //called with the lock held
+    private void index() {
+        if (indexed) {
+            return;
+        }
+        int end = end();
+        int offset = HEADER;
+        while (offset + 8 <= end) {
+            int keyLength = buffer.getInt(offset);
+            int valueLength = buffer.getInt(offset + 4);
+            int next = offset + 8 + keyLength + Math.max(valueLength, 0);
+            if (keyLength < 0 || valueLength < TOMBSTONE || next > end || next < offset) {
+                break;//torn write, everything before it is still good
+            }
+            K key = decode(keySerializer, read(offset + 8, keyLength));
+            if (key == null) {
+                offset = next;//undecodable, it is dropped the next time the log is compacted
+                continue;
+            }
+            if (valueLength == TOMBSTONE) {
+                persisted.remove(key);
+            } else if (!decoded.containsKey(key)) {
+                persisted.put(key, offset);
+            }
+            offset = next;
+        }
+        setEnd(offset);
+        indexed = true;
+    }
+
+    //called with the lock held, false when the record doesn't fit
+    private boolean append(byte[] key, byte[] value) {
+        int offset = end();
+        int valueLength = value == null ? TOMBSTONE : value.length;
+        int next = offset + 8 + key.length + Math.max(valueLength, 0);
+        if (next > buffer.capacity() || next < offset) {
+            return false;
+        }
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(offset);
+        slice.putInt(key.length).putInt(valueLength).put(key);
+        if (value != null) {
+            slice.put(value);
+        }
+        setEnd(next);
+        return true;
+    }
+
+    //called with the lock held: rewrites the log with the live entries only, as many as fit
+    private void compact() {
+        Map<K, byte[][]> live = new HashMap<>();
+        for (Map.Entry<K, Integer> entry : persisted.entrySet()) {
+            int offset = entry.getValue();
+            int keyLength = buffer.getInt(offset);
+            live.put(entry.getKey(), new byte[][]{read(offset + 8, keyLength), read(offset + 8 + keyLength, buffer.getInt(offset + 4))});
+        }
+        for (Map.Entry<K, V> entry : decoded.entrySet()) {
+            byte[] key = encode(keySerializer, entry.getKey());
+            byte[] value = encode(valueSerializer, entry.getValue());
+            if (key != null && value != null) {
+                live.put(entry.getKey(), new byte[][]{key, value});
+            }
+        }
+        reset();
+        persisted.clear();
+        for (Map.Entry<K, byte[][]> entry : live.entrySet()) {
+            int offset = end();
+            if (append(entry.getValue()[0], entry.getValue()[1]) && !decoded.containsKey(entry.getKey())) {
+                persisted.put(entry.getKey(), offset);
+            }
+        }
+    }
+
+    private byte[] read(int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(offset);
+        slice.get(bytes);
+        return bytes;
+    }
+
+    private int end() {
+        return buffer.getInt(4);
+    }
+
+    private void setEnd(int end) {
+        buffer.putInt(4, end);
+    }
+
+    private void reset() {
+        buffer.putInt(0, MAGIC);
+        setEnd(HEADER);
+    }
+
+    @Override
+    public synchronized void invalidate(K key) {
+        index();
+        persisted.remove(key);
+        decoded.remove(key);
+        byte[] tombstone = encode(keySerializer, key);
+        if (tombstone == null || !append(tombstone, null)) {
+            compact();
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        persisted.clear();
+        decoded.clear();
+        reset();
+        indexed = true;
+    }
+
+    @Override
+    public synchronized long size() {
+        index();
+        return persisted.size() + decoded.size();
+    }
+
+    //flushes the log to disk, the mapping itself is released when the cache is garbage collected
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
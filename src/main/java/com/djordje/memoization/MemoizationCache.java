@@ -0,0 +1,36 @@
+package com.djordje.memoization;
+
+import java.util.function.Function;
+
+/**
+ * Storage behind a memoized function. Implementations decide how long a computed value is kept.
+ *
+ * Null values are never cached, a function returning null is called again for the same key.
+ */
+public interface MemoizationCache<K, V> {
+
+    //returns the cached value or null if there's none
+    V getIfPresent(K key);
+
+    //returns the cached value or computes, caches and returns it
+    V computeIfAbsent(K key, Function<? super K, ? extends V> loader);
+
+    void invalidate(K key);
+
+    //drops the entry only while it still holds expected, so a newer value put in the meantime stays;
+    //the default checks and then invalidates, implementations make it atomic where they can
+    default void invalidate(K key, V expected) {
+        if (expected.equals(getIfPresent(key))) {
+            invalidate(key);
+        }
+    }
+
+    void invalidateAll();
+
+    long size();
+
+    //entries the cache dropped on its own (size bound, expiry...), invalidations don't count
+    default long evictionCount() {
+        return 0;
+    }
+}
@@ -0,0 +1,101 @@
+package com.djordje.memoization;
+
+/**
+ * Point in time snapshot of an {@link InstrumentedCache}.
+ *
+ * Load times are kept in a histogram of power of two buckets: bucket i counts loads that took
+ * between 2^i and 2^(i+1) - 1 nanoseconds.
+ */
+public final class MemoizationStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadFailureCount;
+    private final long totalLoadTimeNanos;
+    private final long evictionCount;
+    private final long size;
+    private final long[] loadTimeBuckets;
+
+    MemoizationStats(long hitCount, long missCount, long loadFailureCount, long totalLoadTimeNanos,
+                     long evictionCount, long size, long[] loadTimeBuckets) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.loadTimeBuckets = loadTimeBuckets;
+    }
+
+    static int bucketOf(long nanos) {
+        return nanos <= 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public long loadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public long totalLoadTimeNanos() {
+        return totalLoadTimeNanos;
+    }
+
+    public double averageLoadTimeNanos() {
+        return missCount == 0 ? 0.0 : (double) totalLoadTimeNanos / missCount;
+    }
+
+    //upper bound of the bucket holding the given percentile (0..100) of load times
+    public long loadTimePercentileNanos(double percentile) {
+        long total = 0;
+        for (long count : loadTimeBuckets) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < loadTimeBuckets.length; i++) {
+            seen += loadTimeBuckets[i];
+            if (seen >= rank && loadTimeBuckets[i] > 0) {
+                return i == 63 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public long[] loadTimeBuckets() {
+        return loadTimeBuckets.clone();
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoizationStats(hits=" + hitCount + ", misses=" + missCount + ", hitRate=" + hitRate()
+            + ", loadFailures=" + loadFailureCount + ", averageLoadTimeNanos=" + averageLoadTimeNanos()
+            + ", evictions=" + evictionCount + ", size=" + size + ")";
+    }
+}
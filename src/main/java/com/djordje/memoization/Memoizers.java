@@ -0,0 +1,76 @@
+package com.djordje.memoization;
+
+import io.vavr.Function1;
+import io.vavr.Function2;
+import io.vavr.Function3;
+import io.vavr.Function4;
+import io.vavr.Function5;
+import io.vavr.Function6;
+import io.vavr.Function7;
+import io.vavr.Function8;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.Tuple3;
+import io.vavr.Tuple4;
+import io.vavr.Tuple5;
+import io.vavr.Tuple6;
+import io.vavr.Tuple7;
+import io.vavr.Tuple8;
+
+/**
+ * Memoization of FunctionN types on top of a {@link MemoizationCache}.
+ *
+ * Unlike FunctionN.memoized(), which keeps every result forever, the given cache decides what stays.
+ * Multi argument functions are keyed on the TupleN of their arguments, the same way vavr does it.
+ */
+public final class Memoizers {
+
+    private Memoizers() {
+    }
+
+    public static <T1, R> Function1<T1, R> memoize(Function1<T1, R> f, MemoizationCache<T1, R> cache) {
+        return t1 -> cache.computeIfAbsent(t1, f);
+    }
+
+    public static <T1, T2, R> Function2<T1, T2, R> memoize(Function2<T1, T2, R> f,
+                                                           MemoizationCache<Tuple2<T1, T2>, R> cache) {
+        Function1<Tuple2<T1, T2>, R> tupled = f.tupled();
+        return (t1, t2) -> cache.computeIfAbsent(Tuple.of(t1, t2), tupled);
+    }
+
+    public static <T1, T2, T3, R> Function3<T1, T2, T3, R> memoize(Function3<T1, T2, T3, R> f,
+                                                                   MemoizationCache<Tuple3<T1, T2, T3>, R> cache) {
+        Function1<Tuple3<T1, T2, T3>, R> tupled = f.tupled();
+        return (t1, t2, t3) -> cache.computeIfAbsent(Tuple.of(t1, t2, t3), tupled);
+    }
+
+    public static <T1, T2, T3, T4, R> Function4<T1, T2, T3, T4, R> memoize(Function4<T1, T2, T3, T4, R> f,
+                                                                           MemoizationCache<Tuple4<T1, T2, T3, T4>, R> cache) {
+        Function1<Tuple4<T1, T2, T3, T4>, R> tupled = f.tupled();
+        return (t1, t2, t3, t4) -> cache.computeIfAbsent(Tuple.of(t1, t2, t3, t4), tupled);
+    }
+
+    public static <T1, T2, T3, T4, T5, R> Function5<T1, T2, T3, T4, T5, R> memoize(Function5<T1, T2, T3, T4, T5, R> f,
+                                                                                   MemoizationCache<Tuple5<T1, T2, T3, T4, T5>, R> cache) {
+        Function1<Tuple5<T1, T2, T3, T4, T5>, R> tupled = f.tupled();
+        return (t1, t2, t3, t4, t5) -> cache.computeIfAbsent(Tuple.of(t1, t2, t3, t4, t5), tupled);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, R> Function6<T1, T2, T3, T4, T5, T6, R> memoize(Function6<T1, T2, T3, T4, T5, T6, R> f,
+                                                                                           MemoizationCache<Tuple6<T1, T2, T3, T4, T5, T6>, R> cache) {
+        Function1<Tuple6<T1, T2, T3, T4, T5, T6>, R> tupled = f.tupled();
+        return (t1, t2, t3, t4, t5, t6) -> cache.computeIfAbsent(Tuple.of(t1, t2, t3, t4, t5, t6), tupled);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, T7, R> Function7<T1, T2, T3, T4, T5, T6, T7, R> memoize(Function7<T1, T2, T3, T4, T5, T6, T7, R> f,
+                                                                                                   MemoizationCache<Tuple7<T1, T2, T3, T4, T5, T6, T7>, R> cache) {
+        Function1<Tuple7<T1, T2, T3, T4, T5, T6, T7>, R> tupled = f.tupled();
+        return (t1, t2, t3, t4, t5, t6, t7) -> cache.computeIfAbsent(Tuple.of(t1, t2, t3, t4, t5, t6, t7), tupled);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, T7, T8, R> Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> memoize(Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> f,
+                                                                                                           MemoizationCache<Tuple8<T1, T2, T3, T4, T5, T6, T7, T8>, R> cache) {
+        Function1<Tuple8<T1, T2, T3, T4, T5, T6, T7, T8>, R> tupled = f.tupled();
+        return (t1, t2, t3, t4, t5, t6, t7, t8) -> cache.computeIfAbsent(Tuple.of(t1, t2, t3, t4, t5, t6, t7, t8), tupled);
+    }
+}
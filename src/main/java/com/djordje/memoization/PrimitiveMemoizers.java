@@ -0,0 +1,41 @@
+package com.djordje.memoization;
+
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+
+/**
+ * Memoization of int and long keyed functions on open addressing primitive tables.
+ *
+ * A hit neither boxes the key nor follows a pointer to it, it is a probe over an int/long array. Like
+ * FunctionN.memoized() the cache is unbounded. Two threads missing on the same key may both compute it,
+ * the first result stored wins.
+ */
+public final class PrimitiveMemoizers {
+
+    private PrimitiveMemoizers() {
+    }
+
+    public static <R> IntFunction1<R> memoizeInt(IntFunction<? extends R> f) {
+        IntKeyTable<R> table = new IntKeyTable<>();
+        return key -> {
+            R cached = table.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            R loaded = f.apply(key);
+            return loaded == null ? null : table.putIfAbsent(key, loaded);
+        };
+    }
+
+    public static <R> LongFunction1<R> memoizeLong(LongFunction<? extends R> f) {
+        LongKeyTable<R> table = new LongKeyTable<>();
+        return key -> {
+            R cached = table.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            R loaded = f.apply(key);
+            return loaded == null ? null : table.putIfAbsent(key, loaded);
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.djordje.memoization;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache whose entries the garbage collector is allowed to reclaim.
+ *
+ * With weak keys an entry goes away once nothing else references its key, which suits caches over request
+ * scoped objects. Weak keys are compared with equals, like in WeakHashMap, and live in a synchronized
+ * WeakHashMap. With soft values the collector clears entries when memory gets tight, it never runs out of
+ * heap because of the cache.
+ */
+public class ReferenceCache<K, V> implements MemoizationCache<K, V> {
+
+    private final boolean weakKeys;
+    private final boolean softValues;
+    private final Map<K, Object> entries;
+    private final ReferenceQueue<V> cleared = new ReferenceQueue<>();
+
+    private ReferenceCache(boolean weakKeys, boolean softValues) {
+        this.weakKeys = weakKeys;
+        this.softValues = softValues;
+        this.entries = weakKeys
+            ? Collections.synchronizedMap(new WeakHashMap<K, Object>())
+            : new ConcurrentHashMap<K, Object>();
+    }
+
+    public static <K, V> ReferenceCache<K, V> weakKeys() {
+        return new ReferenceCache<>(true, false);
+    }
+
+    public static <K, V> ReferenceCache<K, V> softValues() {
+        return new ReferenceCache<>(false, true);
+    }
+
+    public static <K, V> ReferenceCache<K, V> weakKeysSoftValues() {
+        return new ReferenceCache<>(true, true);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getIfPresent(K key) {
+        Object entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        return softValues ? ((SoftValue<K, V>) entry).get() : (V) entry;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            expungeCleared();
+            entries.put(key, softValues ? new SoftValue<>(weakKeys ? null : key, loaded, cleared) : loaded);
+        }
+        return loaded;
+    }
+
+    //drops the entries whose soft value was cleared by the collector, with weak keys they go with their key
+    @SuppressWarnings("unchecked")
+    private void expungeCleared() {
+        SoftValue<K, V> value;
+        while ((value = (SoftValue<K, V>) cleared.poll()) != null) {
+            if (value.key != null) {
+                entries.remove(value.key, value);
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    //may still count entries the collector already reclaimed
+    @Override
+    public long size() {
+        if (softValues) {
+            expungeCleared();
+        }
+        return entries.size();
+    }
+
+    private static final class SoftValue<K, V> extends SoftReference<V> {
+        //null with weak keys, a value referencing its key would keep a WeakHashMap entry alive forever
+        final K key;
+
+        SoftValue(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
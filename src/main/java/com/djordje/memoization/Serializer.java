@@ -0,0 +1,18 @@
+package com.djordje.memoization;
+
+import java.io.Serializable;
+
+/**
+ * Turns keys and values of a persistent cache into bytes and back.
+ */
+public interface Serializer<T> {
+
+    byte[] serialize(T value);
+
+    T deserialize(byte[] bytes);
+
+    //plain java serialization, fine for vavr types and anything else implementing Serializable
+    static <T extends Serializable> Serializer<T> javaSerialization() {
+        return new JavaSerializer<>();
+    }
+}
@@ -0,0 +1,95 @@
+package com.djordje.memoization;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller that misses computes the value, everyone else
+ * missing on that key meanwhile waits for its result instead of computing it again.
+ *
+ * The bookkeeping of in-flight loads is a ConcurrentHashMap, so loads of different keys never block each other.
+ * If the load fails the waiting callers get the same exception and the next caller tries again.
+ */
+public class SingleFlightCache<K, V> implements MemoizationCache<K, V> {
+
+    private final MemoizationCache<K, V> delegate;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightCache(MemoizationCache<K, V> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public V getIfPresent(K key) {
+        return delegate.getIfPresent(key);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V cached = delegate.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return await(leader);
+        }
+        try {
+            V loaded = delegate.computeIfAbsent(key, loader);
+            flight.complete(loaded);
+            return loaded;
+        } catch (Throwable e) {//includes checked exceptions thrown sneakily, followers must not wait forever
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V await(CompletableFuture<V> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        delegate.invalidate(key);
+    }
+
+    @Override
+    public void invalidate(K key, V expected) {
+        delegate.invalidate(key, expected);
+    }
+
+    @Override
+    public void invalidateAll() {
+        delegate.invalidateAll();
+    }
+
+    @Override
+    public long size() {
+        return delegate.size();
+    }
+
+    @Override
+    public long evictionCount() {
+        return delegate.evictionCount();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
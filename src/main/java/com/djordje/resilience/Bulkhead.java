@@ -0,0 +1,104 @@
+package com.djordje.resilience;
+
+import io.vavr.CheckedFunction0;
+import io.vavr.control.Try;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the number of calls in flight to a dependency.
+ *
+ * When the cap is reached calls fail right away with a preallocated CallNotPermittedException instead of
+ * queueing, so a slow dependency ties up at most limit threads. The limit is either fixed or adapts with AIMD:
+ * it grows by one after a limit's worth of calls finished under latencyThreshold and shrinks by backoffRatio
+ * on every slower call, settling where the dependency still answers in time.
+ */
+public final class Bulkhead implements TryDecorator {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final LongSupplier ticker;
+    private final CallNotPermittedException rejection = new CallNotPermittedException("Bulkhead is full");
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger(0);
+    private final AtomicInteger fastCalls = new AtomicInteger(0);
+
+    Bulkhead(int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio, LongSupplier ticker) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("minLimit must be between 1 and maxLimit " + maxLimit);
+        }
+        if (backoffRatio <= 0.0 || backoffRatio >= 1.0) {
+            throw new IllegalArgumentException("backoffRatio must be in (0, 1) but was " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.ticker = ticker;
+        this.limit = new AtomicInteger(minLimit);
+    }
+
+    public static Bulkhead of(int maxConcurrentCalls) {
+        return new Bulkhead(maxConcurrentCalls, maxConcurrentCalls, Duration.ofNanos(Long.MAX_VALUE), BACKOFF_RATIO, () -> 0L);
+    }
+
+    //starts at minLimit and moves between minLimit and maxLimit
+    public static Bulkhead adaptive(int minLimit, int maxLimit, Duration latencyThreshold) {
+        return new Bulkhead(minLimit, maxLimit, latencyThreshold, BACKOFF_RATIO, System::nanoTime);
+    }
+
+    @Override
+    public <R> Try<R> call(CheckedFunction0<? extends R> computation) {
+        if (!tryAcquire()) {
+            return rejection.toFailure();
+        }
+        try {
+            if (minLimit == maxLimit) {
+                return Try.of(computation);
+            }
+            long start = ticker.getAsLong();
+            Try<R> result = Try.of(computation);
+            onLatency(ticker.getAsLong() - start);
+            return result;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    //the calls already in flight above a lowered limit just finish, no new ones get in until they do
+    private void onLatency(long nanos) {
+        if (nanos > latencyThresholdNanos) {
+            fastCalls.set(0);
+            limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+        } else if (fastCalls.incrementAndGet() >= limit.get()) {
+            fastCalls.set(0);
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.djordje.resilience;
+
+import com.djordje.control.StacklessException;
+
+/**
+ * Failure of a call rejected without running, by an open circuit breaker or a full bulkhead. Rejections are
+ * expected under load, so they carry no stack trace and come preallocated.
+ */
+public class CallNotPermittedException extends StacklessException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
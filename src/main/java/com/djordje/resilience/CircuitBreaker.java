@@ -0,0 +1,151 @@
+package com.djordje.resilience;
+
+import io.vavr.CheckedFunction0;
+import io.vavr.control.Try;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling a dependency that keeps failing.
+ *
+ * The outcomes of the last windowSize calls are kept in a lock-free ring. Once at least minimumCalls are
+ * recorded and the share of failures reaches failureRateThreshold the breaker opens: calls fail right away
+ * with a preallocated CallNotPermittedException instead of adding latency. After waitInOpen a single trial
+ * call goes through, its success closes the breaker, its failure opens it again.
+ */
+public final class CircuitBreaker implements TryDecorator {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final int NONE = 0;
+    private static final int SUCCESS = 1;
+    private static final int FAILURE = 2;
+
+    private static final int REJECTED = 0;
+    private static final int PERMITTED = 1;
+    private static final int TRIAL = 2;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long waitInOpenNanos;
+    private final LongSupplier ticker;
+    private final CallNotPermittedException rejection = new CallNotPermittedException("Circuit breaker is open");
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private volatile long openedAt;
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong cursor = new AtomicLong(0);
+    private final AtomicInteger recorded = new AtomicInteger(0);
+    private final AtomicInteger failures = new AtomicInteger(0);
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration waitInOpen, LongSupplier ticker) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("minimumCalls must be between 1 and windowSize " + windowSize);
+        }
+        if (failureRateThreshold <= 0.0 || failureRateThreshold > 1.0) {
+            throw new IllegalArgumentException("failureRateThreshold must be in (0, 1] but was " + failureRateThreshold);
+        }
+        this.outcomes = new AtomicIntegerArray(windowSize);
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.waitInOpenNanos = waitInOpen.toNanos();
+        this.ticker = ticker;
+    }
+
+    public static CircuitBreaker of(int windowSize, int minimumCalls, double failureRateThreshold, Duration waitInOpen) {
+        return new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, waitInOpen, System::nanoTime);
+    }
+
+    //the window has to be full before the breaker can open
+    public static CircuitBreaker of(int windowSize, double failureRateThreshold, Duration waitInOpen) {
+        return of(windowSize, windowSize, failureRateThreshold, waitInOpen);
+    }
+
+    @Override
+    public <R> Try<R> call(CheckedFunction0<? extends R> computation) {
+        int permission = acquirePermission();
+        if (permission == REJECTED) {
+            return rejection.toFailure();
+        }
+        boolean success = false;
+        try {
+            Try<R> result = Try.of(computation);
+            success = result.isSuccess();
+            return result;
+        } finally {
+            //Try.of rethrows fatal exceptions such as InterruptedException, they count as failures so that
+            //a trial call can't leave the breaker half-open for good
+            if (permission == TRIAL) {
+                onTrialResult(success);
+            } else {
+                onResult(success);
+            }
+        }
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    private int acquirePermission() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return PERMITTED;
+        }
+        if (current == State.OPEN && ticker.getAsLong() - openedAt >= waitInOpenNanos
+            && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            return TRIAL;
+        }
+        return REJECTED;
+    }
+
+    private void onTrialResult(boolean success) {
+        if (success) {
+            clearWindow();
+            state.set(State.CLOSED);
+        } else {
+            openedAt = ticker.getAsLong();
+            state.set(State.OPEN);
+        }
+    }
+
+    private void onResult(boolean success) {
+        if (state.get() != State.CLOSED) {
+            return;//started before the breaker opened, it says nothing about the dependency now
+        }
+        int outcome = success ? SUCCESS : FAILURE;
+        int index = (int) (cursor.getAndIncrement() % outcomes.length());
+        int previous = outcomes.getAndSet(index, outcome);
+        if (previous == NONE) {
+            recorded.incrementAndGet();
+        }
+        if (outcome == FAILURE && previous != FAILURE) {
+            failures.incrementAndGet();
+        } else if (outcome != FAILURE && previous == FAILURE) {
+            failures.decrementAndGet();
+        }
+        int calls = recorded.get();
+        if (calls >= minimumCalls && failures.get() >= failureRateThreshold * calls) {
+            openedAt = ticker.getAsLong();
+            state.compareAndSet(State.CLOSED, State.OPEN);
+        }
+    }
+
+    private void clearWindow() {
+        for (int i = 0; i < outcomes.length(); i++) {
+            int previous = outcomes.getAndSet(i, NONE);
+            if (previous != NONE) {
+                recorded.decrementAndGet();
+            }
+            if (previous == FAILURE) {
+                failures.decrementAndGet();
+            }
+        }
+    }
+}
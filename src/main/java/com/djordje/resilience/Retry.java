@@ -0,0 +1,136 @@
+package com.djordje.resilience;
+
+import io.vavr.CheckedFunction0;
+import io.vavr.collection.List;
+import io.vavr.control.Try;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries a failing computation with exponential backoff and jitter.
+ *
+ * Which failures are retried is decided the way recoverWith matches exceptions: the first retryOn class the
+ * failure is an instance of gives the number of attempts. Without any retryOn every failure is retried up to
+ * maxAttempts. A shared RetryBudget stops retry storms when a dependency is down for everyone.
+ *
+ * Instances are immutable, every with/retryOn returns a new one.
+ */
+public final class Retry implements TryDecorator {
+
+    private static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(100);
+    private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(10);
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final double multiplier;
+    private final long maxBackoffNanos;
+    private final double jitter;
+    private final List<Policy> policies;
+    private final RetryBudget budget;
+    private final Sleeper sleeper;
+
+    private Retry(int maxAttempts, long initialBackoffNanos, double multiplier, long maxBackoffNanos, double jitter,
+                  List<Policy> policies, RetryBudget budget, Sleeper sleeper) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoffNanos;
+        this.multiplier = multiplier;
+        this.maxBackoffNanos = maxBackoffNanos;
+        this.jitter = jitter;
+        this.policies = policies;
+        this.budget = budget;
+        this.sleeper = sleeper;
+    }
+
+    //backs off 100ms, 200ms, 400ms... up to 10s, each delay randomly shortened by up to half
+    public static Retry of(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1 but was " + maxAttempts);
+        }
+        return new Retry(maxAttempts, DEFAULT_INITIAL_BACKOFF.toNanos(), 2.0, DEFAULT_MAX_BACKOFF.toNanos(), 0.5,
+            List.empty(), RetryBudget.UNLIMITED, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    public Retry withBackoff(Duration initial, double multiplier, Duration max) {
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("multiplier must be at least 1 but was " + multiplier);
+        }
+        return new Retry(maxAttempts, initial.toNanos(), multiplier, max.toNanos(), jitter, policies, budget, sleeper);
+    }
+
+    //0 waits exactly the backoff, 1 waits anywhere between 0 and the backoff
+    public Retry withJitter(double jitter) {
+        if (jitter < 0.0 || jitter > 1.0) {
+            throw new IllegalArgumentException("jitter must be between 0 and 1 but was " + jitter);
+        }
+        return new Retry(maxAttempts, initialBackoffNanos, multiplier, maxBackoffNanos, jitter, policies, budget, sleeper);
+    }
+
+    public Retry retryOn(Class<? extends Throwable> exception) {
+        return retryOn(exception, maxAttempts);
+    }
+
+    public Retry retryOn(Class<? extends Throwable> exception, int attempts) {
+        return new Retry(maxAttempts, initialBackoffNanos, multiplier, maxBackoffNanos, jitter,
+            policies.append(new Policy(exception, attempts)), budget, sleeper);
+    }
+
+    public Retry withBudget(RetryBudget budget) {
+        return new Retry(maxAttempts, initialBackoffNanos, multiplier, maxBackoffNanos, jitter, policies, budget, sleeper);
+    }
+
+    Retry withSleeper(Sleeper sleeper) {
+        return new Retry(maxAttempts, initialBackoffNanos, multiplier, maxBackoffNanos, jitter, policies, budget, sleeper);
+    }
+
+    @Override
+    public <R> Try<R> call(CheckedFunction0<? extends R> computation) {
+        budget.recordCall();
+        Try<R> result = Try.of(computation);
+        for (int attempt = 1; result.isFailure(); attempt++) {
+            if (attempt >= attemptsFor(result.getCause()) || !budget.tryAcquireRetry() || !backOff(attempt)) {
+                return result;
+            }
+            result = Try.of(computation);
+        }
+        return result;
+    }
+
+    private int attemptsFor(Throwable cause) {
+        if (policies.isEmpty()) {
+            return maxAttempts;
+        }
+        return policies.find(policy -> policy.exception.isInstance(cause))
+            .map(policy -> policy.attempts)
+            .getOrElse(1);
+    }
+
+    //false when interrupted, the last failure is returned then
+    private boolean backOff(int attempt) {
+        double exponential = initialBackoffNanos * Math.pow(multiplier, attempt - 1);
+        long backoff = (long) Math.min(maxBackoffNanos, exponential);
+        long delay = backoff - (long) (backoff * jitter * ThreadLocalRandom.current().nextDouble());
+        try {
+            sleeper.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    private static final class Policy {
+        final Class<? extends Throwable> exception;
+        final int attempts;
+
+        Policy(Class<? extends Throwable> exception, int attempts) {
+            this.exception = exception;
+            this.attempts = attempts;
+        }
+    }
+}
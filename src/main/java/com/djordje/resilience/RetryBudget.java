@@ -0,0 +1,68 @@
+package com.djordje.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries to a fraction of the calls, shared by every Retry using it, so a failing dependency does not
+ * get its load multiplied by the retries of all its callers.
+ *
+ * Each call deposits retryRatio tokens, each retry withdraws one. The balance starts at, and never exceeds,
+ * reserve tokens, which lets a quiet service still retry the odd failure.
+ */
+public final class RetryBudget {
+
+    public static final RetryBudget UNLIMITED = new RetryBudget(0, 0, true);
+
+    private static final long TOKEN = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final boolean unlimited;
+    private final AtomicLong balance;
+
+    private RetryBudget(double retryRatio, int reserve, boolean unlimited) {
+        this.deposit = (long) (retryRatio * TOKEN);
+        this.capacity = reserve * TOKEN;
+        this.unlimited = unlimited;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    public static RetryBudget of(double retryRatio, int reserve) {
+        if (retryRatio < 0 || reserve < 0) {
+            throw new IllegalArgumentException("retryRatio and reserve can't be negative");
+        }
+        return new RetryBudget(retryRatio, reserve, false);
+    }
+
+    void recordCall() {
+        if (unlimited || deposit == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = balance.get();
+            if (current >= capacity) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(capacity, current + deposit)));
+    }
+
+    boolean tryAcquireRetry() {
+        if (unlimited) {
+            return true;
+        }
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    //whole retries left
+    public long available() {
+        return unlimited ? Long.MAX_VALUE : balance.get() / TOKEN;
+    }
+}
@@ -0,0 +1,59 @@
+package com.djordje.resilience;
+
+import io.vavr.CheckedFunction0;
+import io.vavr.Function0;
+import io.vavr.Function1;
+import io.vavr.Function2;
+import io.vavr.Function3;
+import io.vavr.Function4;
+import io.vavr.Function5;
+import io.vavr.Function6;
+import io.vavr.Function7;
+import io.vavr.Function8;
+import io.vavr.control.Try;
+
+/**
+ * Something that wraps a computation and hands back its outcome as a Try: retries, circuit breakers, bulkheads.
+ *
+ * Implementations only provide call, the decorate overloads turn any FunctionN into a FunctionN returning Try.
+ */
+public interface TryDecorator {
+
+    <R> Try<R> call(CheckedFunction0<? extends R> computation);
+
+    default <R> Function0<Try<R>> decorate(Function0<R> f) {
+        return () -> call(f::apply);
+    }
+
+    default <T1, R> Function1<T1, Try<R>> decorate(Function1<T1, R> f) {
+        return (t1) -> call(() -> f.apply(t1));
+    }
+
+    default <T1, T2, R> Function2<T1, T2, Try<R>> decorate(Function2<T1, T2, R> f) {
+        return (t1, t2) -> call(() -> f.apply(t1, t2));
+    }
+
+    default <T1, T2, T3, R> Function3<T1, T2, T3, Try<R>> decorate(Function3<T1, T2, T3, R> f) {
+        return (t1, t2, t3) -> call(() -> f.apply(t1, t2, t3));
+    }
+
+    default <T1, T2, T3, T4, R> Function4<T1, T2, T3, T4, Try<R>> decorate(Function4<T1, T2, T3, T4, R> f) {
+        return (t1, t2, t3, t4) -> call(() -> f.apply(t1, t2, t3, t4));
+    }
+
+    default <T1, T2, T3, T4, T5, R> Function5<T1, T2, T3, T4, T5, Try<R>> decorate(Function5<T1, T2, T3, T4, T5, R> f) {
+        return (t1, t2, t3, t4, t5) -> call(() -> f.apply(t1, t2, t3, t4, t5));
+    }
+
+    default <T1, T2, T3, T4, T5, T6, R> Function6<T1, T2, T3, T4, T5, T6, Try<R>> decorate(Function6<T1, T2, T3, T4, T5, T6, R> f) {
+        return (t1, t2, t3, t4, t5, t6) -> call(() -> f.apply(t1, t2, t3, t4, t5, t6));
+    }
+
+    default <T1, T2, T3, T4, T5, T6, T7, R> Function7<T1, T2, T3, T4, T5, T6, T7, Try<R>> decorate(Function7<T1, T2, T3, T4, T5, T6, T7, R> f) {
+        return (t1, t2, t3, t4, t5, t6, t7) -> call(() -> f.apply(t1, t2, t3, t4, t5, t6, t7));
+    }
+
+    default <T1, T2, T3, T4, T5, T6, T7, T8, R> Function8<T1, T2, T3, T4, T5, T6, T7, T8, Try<R>> decorate(Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> f) {
+        return (t1, t2, t3, t4, t5, t6, t7, t8) -> call(() -> f.apply(t1, t2, t3, t4, t5, t6, t7, t8));
+    }
+}
@@ -13,9 +13,12 @@ import io.vavr.Function8;
 import io.vavr.Lazy;
 import io.vavr.Tuple;
 import io.vavr.Tuple2;
+import io.vavr.Tuple3;
 import io.vavr.collection.List;
+import io.vavr.collection.Seq;
 import io.vavr.control.Option;
 import io.vavr.control.Try;
+import io.vavr.control.Validation;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Optional;
@@ -178,6 +181,12 @@ public class VavrExamples {
             .getOrElse(-1);
         assertThat(recovered).isEqualTo(777);
 
+        //The Try given to recoverWith is computed even when nothing failed, a function is only called on failure
+        Integer lazilyRecovered = Try.of(() -> manyBadThings.apply(2))
+            .recoverWith(IllegalArgumentException.class, e -> Try.of(() -> 777))
+            .getOrElse(-1);
+        assertThat(lazilyRecovered).isEqualTo(777);
+
         //Combining Try.sequence and flatmap we can extract the values from a list of Try
         List<Try<String>> tries = List(Try.of(() -> "A"),Try.of(() -> "B"),Try.of(() -> "C"));
         Try<String> strings = Try.sequence(tries).flatMap((e) -> e.toTry());
@@ -298,4 +307,26 @@ public class VavrExamples {
 
         assertThat(value).isEqualTo("it's a number");
     }
+
+    @Test//Validation
+    public void example14() {
+
+        //Try stops at the first exception, Validation collects every error of a record as plain values
+        Function1<String, Validation<String, String>> name = (n) -> n.isEmpty()
+            ? Validation.invalid("name is empty") : Validation.valid(n);
+        Function1<String, Validation<String, Integer>> age = (a) -> a.matches("\\d{1,3}")
+            ? Validation.valid(Integer.valueOf(a)) : Validation.invalid("age is not a number: " + a);
+        Function1<String, Validation<String, String>> email = (e) -> e.contains("@")
+            ? Validation.valid(e) : Validation.invalid("email has no @: " + e);
+
+        Validation<Seq<String>, Tuple3<String, Integer, String>> valid = Validation
+            .combine(name.apply("Djordje"), age.apply("33"), email.apply("djordje@example.com"))
+            .ap(Tuple::of);
+        assertThat(valid.get()).isEqualTo(Tuple.of("Djordje", 33, "djordje@example.com"));
+
+        Validation<Seq<String>, Tuple3<String, Integer, String>> invalid = Validation
+            .combine(name.apply(""), age.apply("thirty"), email.apply("djordje"))
+            .ap(Tuple::of);
+        assertThat(invalid.getError()).containsExactly("name is empty", "age is not a number: thirty", "email has no @: djordje");
+    }
 }
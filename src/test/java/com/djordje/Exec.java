@@ -1,3 +1,5 @@
+package com.djordje;
+
 public class Exec {
 
     public void methodOne(String nullableValue) {
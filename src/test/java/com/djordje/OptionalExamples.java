@@ -1,3 +1,5 @@
+package com.djordje;
+
 import io.vavr.Tuple2;
 import io.vavr.control.Option;
 
@@ -6,7 +8,9 @@ import static io.vavr.Patterns.*;
 
 public class OptionalExamples {
 
-    private Exec exec = new Exec();
+    private static final Option<String> DEFAULT = Option.of("default");
+
+    private final Exec exec = new Exec();
 
     //NO NULL CHECKS
     //instead of
@@ -34,10 +38,10 @@ public class OptionalExamples {
         }
     }
 
-    // with vavr
+    // with vavr, peek runs the action without the iterator forEach goes through
     public void vavrNullConditionalExecution(String nullableValue) {
         Option.of(nullableValue)
-                .forEach(exec::methodOne);
+                .peek(exec::methodOne);
     }
 
 
@@ -55,7 +59,7 @@ public class OptionalExamples {
     // with vavr
     public void vavrConditionalExecutionOfTheSameMethod(String nullableValue) {
         Option.of(nullableValue)
-                .orElse(Option.of("default"))
+                .orElse(DEFAULT)
                 .forEach(exec::methodOne);
     }
 
@@ -0,0 +1,135 @@
+package com.djordje.benchmark;
+
+import com.djordje.lazy.AtomicLazy;
+import io.vavr.Lazy;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * vavr Lazy against AtomicLazy, hot (already initialized) and cold (all threads racing on the same fresh value).
+ *
+ * Every result comes with the monitor blocks and parks the benchmark threads went through, from the
+ * ThreadMXBean, as the blocked and waited counters. LazyContentionSuite runs it for 1 to 64 threads, a single
+ * thread count can still be run by hand:
+ * mvn -Pbenchmark test -Djmh.args="LazyBenchmark -t 16"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyBenchmark {
+
+    private static final int COLD_VALUES = 1 << 20;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @State(Scope.Benchmark)
+    public static class Hot {
+        Lazy<Integer> vavrLazy;
+        AtomicLazy<Integer> atomicLazy;
+
+        @Setup
+        public void setUp() {
+            vavrLazy = Lazy.of(() -> 123);
+            vavrLazy.get();
+            atomicLazy = AtomicLazy.of(() -> 123);
+            atomicLazy.get();
+        }
+    }
+
+    //all threads get() the value at the frontier, whoever sees it initialized moves the frontier to the next
+    //fresh one, so every value is initialized while the other threads race on it
+    @State(Scope.Benchmark)
+    public static class Cold {
+        Lazy<?>[] vavrLazies;
+        AtomicLazy<?>[] atomicLazies;
+        final AtomicInteger vavrFrontier = new AtomicInteger(0);
+        final AtomicInteger atomicFrontier = new AtomicInteger(0);
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            Supplier<Integer> init = () -> {
+                Blackhole.consumeCPU(1000);
+                return 123;
+            };
+            vavrLazies = new Lazy<?>[COLD_VALUES];
+            atomicLazies = new AtomicLazy<?>[COLD_VALUES];
+            for (int i = 0; i < COLD_VALUES; i++) {
+                vavrLazies[i] = Lazy.of(init);
+                atomicLazies[i] = AtomicLazy.of(init);
+            }
+            vavrFrontier.set(0);
+            atomicFrontier.set(0);
+        }
+    }
+
+    //per thread and iteration: how often it blocked on a monitor and how often it parked or waited
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Contention {
+        public long blocked;
+        public long waited;
+        private long blockedAtStart;
+        private long waitedAtStart;
+
+        @Setup(Level.Iteration)
+        public void start() {
+            ThreadInfo info = THREADS.getThreadInfo(Thread.currentThread().getId());
+            blockedAtStart = info.getBlockedCount();
+            waitedAtStart = info.getWaitedCount();
+            blocked = 0;
+            waited = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() {
+            ThreadInfo info = THREADS.getThreadInfo(Thread.currentThread().getId());
+            blocked = info.getBlockedCount() - blockedAtStart;
+            waited = info.getWaitedCount() - waitedAtStart;
+        }
+    }
+
+    @Benchmark
+    public Integer hotVavrLazy(Hot hot, Contention contention) {
+        return hot.vavrLazy.get();
+    }
+
+    @Benchmark
+    public Integer hotAtomicLazy(Hot hot, Contention contention) {
+        return hot.atomicLazy.get();
+    }
+
+    @Benchmark
+    public Object coldVavrLazy(Cold cold, Contention contention) {
+        int index = cold.vavrFrontier.get();
+        Object value = cold.vavrLazies[index & (COLD_VALUES - 1)].get();
+        cold.vavrFrontier.compareAndSet(index, index + 1);
+        return value;
+    }
+
+    @Benchmark
+    public Object coldAtomicLazy(Cold cold, Contention contention) {
+        int index = cold.atomicFrontier.get();
+        Object value = cold.atomicLazies[index & (COLD_VALUES - 1)].get();
+        cold.atomicFrontier.compareAndSet(index, index + 1);
+        return value;
+    }
+}
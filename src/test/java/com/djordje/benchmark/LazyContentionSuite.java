@@ -0,0 +1,53 @@
+package com.djordje.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vavr.collection.List;
+import org.junit.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs LazyBenchmark for 1 to 64 threads and checks that no thread ever blocks on a monitor in AtomicLazy,
+ * hot or cold. Threads racing on a cold AtomicLazy park until the initializing thread is done, they show up
+ * in the waited counter; vavr's Lazy is printed next to it for comparison, its racing threads pile up on the
+ * monitor of get().
+ *
+ * It takes a few minutes, so surefire doesn't pick it up by itself:
+ * mvn test -Dtest=LazyContentionSuite
+ */
+public class LazyContentionSuite {
+
+    private static final List<Integer> THREADS = List.of(1, 2, 4, 8, 16, 32, 64);
+
+    @Test//AtomicLazy never blocks on a monitor, whatever the number of threads
+    public void atomicLazyDoesNotBlockUnderContention() throws RunnerException {
+        System.out.printf("%-30s %7s %12s %10s %10s%n", "benchmark", "threads", "ns/op", "blocked", "waited");
+        for (int threads : THREADS) {
+            for (RunResult result : new Runner(new OptionsBuilder()
+                .include(LazyBenchmark.class.getSimpleName())
+                .threads(threads)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .build()).run()) {
+                String name = result.getParams().getBenchmark();
+                double blocked = counter(result, "blocked");
+                System.out.printf("%-30s %7d %12.1f %10.0f %10.0f%n", name.substring(name.lastIndexOf('.') + 1), threads,
+                    result.getPrimaryResult().getScore(), blocked, counter(result, "waited"));
+                if (name.endsWith("AtomicLazy")) {
+                    assertThat(blocked).as("monitor blocks in %s with %d threads", name, threads).isZero();
+                }
+            }
+        }
+    }
+
+    private static double counter(RunResult result, String name) {
+        return result.getSecondaryResults().get(name).getScore();
+    }
+}
@@ -0,0 +1,94 @@
+package com.djordje.benchmark;
+
+import com.djordje.memoization.FlatKeyMemoizers;
+import com.djordje.memoization.IntFunction1;
+import com.djordje.memoization.LruCache;
+import com.djordje.memoization.Memoizers;
+import com.djordje.memoization.PrimitiveMemoizers;
+import io.vavr.Function1;
+import io.vavr.Function3;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hit path of the memoizers: every key is warmed up in setUp, so only lookups are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MemoizationBenchmark {
+
+    //keys above 127 miss the Integer cache, so boxing them allocates
+    @Param({"100", "10000"})
+    public int keys;
+
+    private Function1<Integer, String> vavrMemoized;
+    private Function1<Integer, String> lruMemoized;
+    private IntFunction1<String> intMemoized;
+    private Function3<Integer, Integer, Integer, Integer> tupleMemoized3;
+    private Function3<Integer, Integer, Integer, Integer> flatKeyMemoized3;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Function1<Integer, String> f = x -> "returned " + (x + x);
+        vavrMemoized = f.memoized();
+        lruMemoized = Memoizers.memoize(f, new LruCache<>(keys));
+        intMemoized = PrimitiveMemoizers.memoizeInt(x -> "returned " + (x + x));
+        Function3<Integer, Integer, Integer, Integer> baseFunction = (a, b, c) -> a + b + c;
+        tupleMemoized3 = baseFunction.memoized();
+        flatKeyMemoized3 = FlatKeyMemoizers.memoize(baseFunction);
+        for (int i = 0; i < keys; i++) {
+            vavrMemoized.apply(i);
+            lruMemoized.apply(i);
+            intMemoized.applyInt(i);
+            tupleMemoized3.apply(i, 1, i);
+            flatKeyMemoized3.apply(i, 1, i);
+        }
+    }
+
+    private int next() {
+        cursor = cursor + 1 == keys ? 0 : cursor + 1;
+        return cursor;
+    }
+
+    @Benchmark
+    public String vavrMemoized() {
+        return vavrMemoized.apply(next());
+    }
+
+    @Benchmark
+    public String lruMemoized() {
+        return lruMemoized.apply(next());
+    }
+
+    @Benchmark
+    public String intMemoized() {
+        return intMemoized.applyInt(next());
+    }
+
+    @Benchmark
+    public Integer tupleMemoized3() {
+        int key = next();
+        return tupleMemoized3.apply(key, 1, key);
+    }
+
+    @Benchmark
+    public Integer flatKeyMemoized3() {
+        int key = next();
+        return flatKeyMemoized3.apply(key, 1, key);
+    }
+}
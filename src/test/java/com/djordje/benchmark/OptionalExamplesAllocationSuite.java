@@ -0,0 +1,80 @@
+package com.djordje.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vavr.collection.List;
+import java.util.Collection;
+import org.junit.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Checks that the chain-style vavr* methods of OptionalExamples allocate no more than their legacy* twins once
+ * C2 has inlined them, i.e. that escape analysis removes every Option of the chain.
+ *
+ * It runs OptionalExamplesBenchmark under the gc profiler and takes a few minutes, so surefire doesn't pick it
+ * up by itself. Run it on its own, add -Djit.report to print the inlining decisions of the forked JVM:
+ * mvn test -Dtest=OptionalExamplesAllocationSuite -Djit.report
+ *
+ * The Match-based methods are left out, Match allocates its patterns and tuples by design.
+ *
+ * With mixed inputs the chains allocate: Option.of returns the None singleton for some calls and a fresh Some
+ * for others, and C2 keeps a Some that merges with another object on the heap. That happens inside vavr's
+ * Option, and branching on null before building the Option would turn every vavr* method back into its legacy*
+ * twin. How many bytes that is depends on the JVM (compressed oops, object header layout), so the suite prints
+ * the extra bytes/op of the mixed runs instead of checking them, and a JVM that removes the Some is fine too.
+ */
+public class OptionalExamplesAllocationSuite {
+
+    private static final List<String> CHAINS = List.of("NullCheck", "NullConditionalExecution",
+        "ConditionalExecutionOfTheSameMethod", "ConditionalExecutionOfDifferentMethods", "ComplexAndConditional");
+
+    //gc.alloc.rate.norm is averaged over the iteration, a stray allocation from the harness shows up as a fraction
+    private static final double TOLERANCE_BYTES = 1.0;
+    private static final String MIXED = "prefixMixed";
+
+    @Test//Option chains allocate nothing once inlined, except on mixed inputs
+    public void optionChainsAllocateNoMoreThanNullChecks() throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(OptionalExamplesBenchmark.class.getSimpleName() + "\\.(legacy|vavr)(" + CHAINS.mkString("|") + ")$")
+            .addProfiler(GCProfiler.class)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(3)
+            .measurementTime(TimeValue.seconds(1))
+            .forks(1);
+        if (System.getProperty("jit.report") != null) {
+            options.jvmArgsAppend("-XX:+UnlockDiagnosticVMOptions", "-XX:+PrintCompilation", "-XX:+PrintInlining");
+        }
+        Collection<RunResult> results = new Runner(options.build()).run();
+
+        for (RunResult vavr : results) {
+            String name = vavr.getParams().getBenchmark();
+            if (!name.contains(".vavr")) {
+                continue;
+            }
+            String distribution = vavr.getParams().getParam("distribution");
+            RunResult legacy = List.ofAll(results)
+                .find(r -> r.getParams().getBenchmark().equals(name.replace(".vavr", ".legacy"))
+                    && r.getParams().getParam("distribution").equals(distribution))
+                .get();
+            if (distribution.equals(MIXED)) {
+                System.out.printf("%s with %s inputs allocates %.1f bytes/op more than its legacy twin%n",
+                    name, distribution, bytesPerOp(vavr) - bytesPerOp(legacy));
+                continue;
+            }
+            assertThat(bytesPerOp(vavr))
+                .as("bytes/op of %s with %s inputs", name, distribution)
+                .isLessThanOrEqualTo(bytesPerOp(legacy) + TOLERANCE_BYTES);
+        }
+    }
+
+    private static double bytesPerOp(RunResult result) {
+        return result.getSecondaryResults().get("gc.alloc.rate.norm").getScore();
+    }
+}
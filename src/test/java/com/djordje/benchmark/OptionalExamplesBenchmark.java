@@ -0,0 +1,172 @@
+package com.djordje.benchmark;
+
+import com.djordje.OptionalExamples;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Every legacy* method of {@link OptionalExamples} against its vavr* twin.
+ *
+ * Run with the gc profiler (the default of the benchmark profile) to get bytes/op next to ns/op:
+ * mvn -Pbenchmark test -Djmh.args="-prof gc OptionalExamplesBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OptionalExamplesBenchmark {
+
+    private static final int INPUTS = 1024;
+    private static final String[] PREFIXES = {"ONE", "TWO", "THREE"};
+
+    //null: every input is null, nonNull: no input is null, prefixMixed: a quarter null, the rest spread over the prefixes
+    @Param({"null", "nonNull", "prefixMixed"})
+    public String distribution;
+
+    private final OptionalExamples examples = new OptionalExamples();
+    private String[] inputs;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        inputs = new String[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            inputs[i] = input(random);
+        }
+    }
+
+    private String input(Random random) {
+        switch (distribution) {
+            case "null":
+                return null;
+            case "nonNull":
+                return "VALUE" + random.nextInt(1000);
+            case "prefixMixed":
+                return random.nextInt(4) == 0 ? null : PREFIXES[random.nextInt(PREFIXES.length)] + random.nextInt(1000);
+            default:
+                throw new IllegalArgumentException("Unknown distribution " + distribution);
+        }
+    }
+
+    private String next() {
+        cursor = (cursor + 1) & (INPUTS - 1);
+        return inputs[cursor];
+    }
+
+    private String other() {
+        return inputs[(cursor + INPUTS / 2) & (INPUTS - 1)];
+    }
+
+    @Benchmark
+    public String legacyNullCheck() {
+        return examples.legacyNullCheck(next());
+    }
+
+    @Benchmark
+    public String vavrNullCheck() {
+        return examples.vavrNullCheck(next());
+    }
+
+    @Benchmark
+    public void legacyNullConditionalExecution() {
+        examples.legacyNullConditionalExecution(next());
+    }
+
+    @Benchmark
+    public void vavrNullConditionalExecution() {
+        examples.vavrNullConditionalExecution(next());
+    }
+
+    @Benchmark
+    public void legacyConditionalExecutionOfTheSameMethod() {
+        examples.legacyConditionalExecutionOfTheSameMethod(next());
+    }
+
+    @Benchmark
+    public void vavrConditionalExecutionOfTheSameMethod() {
+        examples.vavrConditionalExecutionOfTheSameMethod(next());
+    }
+
+    @Benchmark
+    public void legacyConditionalExecutionOfDifferentMethods() {
+        examples.legacyConditionalExecutionOfDifferentMethods(next());
+    }
+
+    @Benchmark
+    public void vavrConditionalExecutionOfDifferentMethods() {
+        examples.vavrConditionalExecutionOfDifferentMethods(next());
+    }
+
+    @Benchmark
+    public void legacyConditionalException(Blackhole blackhole) {
+        try {
+            examples.legacyConditionalException(next());
+        } catch (RuntimeException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void vavrConditionalException(Blackhole blackhole) {
+        try {
+            examples.vavrConditionalException(next());
+        } catch (RuntimeException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public String legacyComplexAndConditional() {
+        return examples.legacyComplexAndConditional(next());
+    }
+
+    @Benchmark
+    public String vavrComplexAndConditional() {
+        return examples.vavrComplexAndConditional(next());
+    }
+
+    @Benchmark
+    public void legacyNestedConditionWithMultipleValues() {
+        examples.legacyNestedConditionWithMultipleValues(next(), other());
+    }
+
+    @Benchmark
+    public void vavrNestedConditionWithMultipleValues() {
+        examples.vavrNestedConditionWithMultipleValues(next(), other());
+    }
+
+    @Benchmark
+    public String legacyNestedConditionsWithReturn() {
+        return examples.legacyNestedConditionsWithReturn(next());
+    }
+
+    @Benchmark
+    public String vavrNestedConditionsWithReturn() {
+        return examples.vavrNestedConditionsWithReturn(next());
+    }
+
+    @Benchmark
+    public void legacyNestedConditionsWithExecution() {
+        examples.legacyNestedConditionsWithExecution(next());
+    }
+
+    @Benchmark
+    public void vavrNestedConditionsWithExecution() {
+        examples.vavrNestedConditionsWithExecution(next());
+    }
+}
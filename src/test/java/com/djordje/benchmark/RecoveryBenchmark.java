@@ -0,0 +1,65 @@
+package com.djordje.benchmark;
+
+import com.djordje.control.Tries;
+import io.vavr.Function1;
+import io.vavr.control.Try;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Eager recoverWith(IllegalArgumentException.class, Try.of(...)) from VavrExamples.example8 against the supplier
+ * based Tries.recoverWith, on the success path where no recovery is needed and on the failure path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RecoveryBenchmark {
+
+    //cost of the fallback, in Blackhole.consumeCPU tokens
+    @Param({"0", "1000"})
+    public int fallbackCost;
+
+    @Param({"true", "false"})
+    public boolean fails;
+
+    private final Function1<Integer, Integer> something = (x) -> {
+        if (fails) {
+            throw new IllegalArgumentException();
+        }
+        return x * 2;
+    };
+
+    public int input = 2;
+
+    private Integer fallback() {
+        Blackhole.consumeCPU(fallbackCost);
+        return 777;
+    }
+
+    @Benchmark
+    public Integer eagerRecoverWith() {
+        return Try.of(() -> something.apply(input))
+            .recoverWith(IllegalArgumentException.class, Try.of(this::fallback))
+            .getOrElse(-1);
+    }
+
+    @Benchmark
+    public Integer lazyRecoverWith() {
+        return Tries.recoverWith(Try.of(() -> something.apply(input)), IllegalArgumentException.class,
+            () -> Try.of(this::fallback))
+            .getOrElse(-1);
+    }
+}
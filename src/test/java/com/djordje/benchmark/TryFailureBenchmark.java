@@ -0,0 +1,63 @@
+package com.djordje.benchmark;
+
+import com.djordje.control.StacklessException;
+import io.vavr.Function1;
+import io.vavr.control.Either;
+import io.vavr.control.Try;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The failure path of Try.of(...).getOrElse(-1) from VavrExamples.example8 with different kinds of failure.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TryFailureBenchmark {
+
+    private static final StacklessException BAD = new StacklessException("bad");
+
+    private final Function1<Integer, Integer> somethingBad = (x) -> {throw new RuntimeException();};
+    private final Function1<Integer, Integer> somethingStackless = (x) -> {throw new StacklessException("bad");};
+    private final Function1<Integer, Integer> somethingPreallocated = (x) -> {throw BAD;};
+    private final Function1<Integer, Try<Integer>> preallocatedFailure = (x) -> BAD.toFailure();
+    private final Function1<Integer, Either<String, Integer>> failureValue = (x) -> Either.left("bad");
+
+    public int input = 2;
+
+    @Benchmark
+    public Integer runtimeException() {
+        return Try.of(() -> somethingBad.apply(input)).getOrElse(-1);
+    }
+
+    @Benchmark
+    public Integer stacklessException() {
+        return Try.of(() -> somethingStackless.apply(input)).getOrElse(-1);
+    }
+
+    @Benchmark
+    public Integer preallocatedException() {
+        return Try.of(() -> somethingPreallocated.apply(input)).getOrElse(-1);
+    }
+
+    @Benchmark
+    public Integer preallocatedFailure() {
+        return preallocatedFailure.apply(input).getOrElse(-1);
+    }
+
+    @Benchmark
+    public Integer failureValue() {
+        return failureValue.apply(input).getOrElse(-1);
+    }
+}
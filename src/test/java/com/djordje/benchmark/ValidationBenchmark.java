@@ -0,0 +1,110 @@
+package com.djordje.benchmark;
+
+import io.vavr.Tuple;
+import io.vavr.collection.Seq;
+import io.vavr.control.Try;
+import io.vavr.control.Validation;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validating a batch of a million (name, age, email) rows, all errors of every row are collected.
+ *
+ * tryPerField throws an exception for every bad field like VavrExamples.example8 does, validation returns
+ * errors as plain values like VavrExamples.example14. One operation is the whole batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    //share of fields that are invalid
+    @Param({"0.01", "0.1", "0.5"})
+    public double invalid;
+
+    private String[][] rows;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        rows = new String[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = new String[]{
+                random.nextDouble() < invalid ? "" : "name" + i,
+                random.nextDouble() < invalid ? "age" + i : String.valueOf(random.nextInt(100)),
+                random.nextDouble() < invalid ? "mail" + i : "mail" + i + "@example.com"};
+        }
+    }
+
+    @Benchmark
+    public int tryPerField() {
+        int errors = 0;
+        for (String[] row : rows) {
+            Try<String> name = Try.of(() -> requireName(row[0]));
+            Try<Integer> age = Try.of(() -> Integer.valueOf(row[1]));
+            Try<String> email = Try.of(() -> requireEmail(row[2]));
+            errors += (name.isFailure() ? 1 : 0) + (age.isFailure() ? 1 : 0) + (email.isFailure() ? 1 : 0);
+        }
+        return errors;
+    }
+
+    @Benchmark
+    public int validation() {
+        int errors = 0;
+        for (String[] row : rows) {
+            Validation<Seq<String>, ?> record = Validation.combine(name(row[0]), age(row[1]), email(row[2])).ap(Tuple::of);
+            errors += record.isInvalid() ? record.getError().size() : 0;
+        }
+        return errors;
+    }
+
+    private static String requireName(String name) {
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("name is empty");
+        }
+        return name;
+    }
+
+    private static String requireEmail(String email) {
+        if (email.indexOf('@') < 0) {
+            throw new IllegalArgumentException("email has no @: " + email);
+        }
+        return email;
+    }
+
+    private static Validation<String, String> name(String name) {
+        return name.isEmpty() ? Validation.invalid("name is empty") : Validation.valid(name);
+    }
+
+    private static Validation<String, Integer> age(String age) {
+        int value = 0;
+        for (int i = 0; i < age.length(); i++) {
+            char c = age.charAt(i);
+            if (c < '0' || c > '9' || i > 8) {
+                return Validation.invalid("age is not a number: " + age);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return age.isEmpty() ? Validation.invalid("age is empty") : Validation.valid(value);
+    }
+
+    private static Validation<String, String> email(String email) {
+        return email.indexOf('@') < 0 ? Validation.invalid("email has no @: " + email) : Validation.valid(email);
+    }
+}
@@ -0,0 +1,40 @@
+package com.djordje.control;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.vavr.control.Option;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class OptionExamples {
+
+    @Test//Primitive options
+    public void primitiveOptions() {
+
+        //same chain as with Option<Integer>, without boxing the value
+        int doubled = OptionInt.of(21).filter(x -> x > 0).map(x -> x * 2).getOrElse(-1);
+        assertThat(doubled).isEqualTo(42);
+        assertThat(OptionInt.of(-21).filter(x -> x > 0).map(x -> x * 2).getOrElse(-1)).isEqualTo(-1);
+
+        //small values and the empty option are shared instances
+        assertThat(OptionInt.of(42)).isSameAs(OptionInt.of(42));
+        assertThat(OptionInt.empty().map(x -> x * 2)).isSameAs(OptionInt.empty());
+        assertThat(OptionInt.of(100_000)).isEqualTo(OptionInt.of(100_000));
+
+        AtomicInteger seen = new AtomicInteger(0);
+        OptionInt.of(7).peek(seen::set).onEmpty(() -> seen.set(-1));
+        assertThat(seen.get()).isEqualTo(7);
+        OptionInt.empty().peek(seen::set).onEmpty(() -> seen.set(-1));
+        assertThat(seen.get()).isEqualTo(-1);
+        assertThatThrownBy(() -> OptionInt.empty().get()).isInstanceOf(NoSuchElementException.class);
+
+        //and back to vavr when a boxed Option is needed
+        assertThat(OptionInt.of(7).boxed()).isEqualTo(Option.of(7));
+        assertThat(OptionInt.ofNullable(null).boxed()).isEqualTo(Option.none());
+        assertThat(OptionLong.of(Long.MAX_VALUE).map(x -> x / 2).mapToObj(Long::toString).get()).isEqualTo(String.valueOf(Long.MAX_VALUE / 2));
+        assertThat(OptionDouble.of(0.5).filter(x -> x < 1.0).getOrElse(Double.NaN)).isEqualTo(0.5);
+        assertThat(OptionDouble.of(Double.NaN)).isEqualTo(OptionDouble.of(Double.NaN));
+    }
+}
@@ -0,0 +1,158 @@
+package com.djordje.control;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.djordje.concurrent.VirtualThreads;
+import io.vavr.Function1;
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
+import io.vavr.control.Either;
+import io.vavr.control.Try;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+public class TryExamples {
+
+    private static final StacklessException NOT_FOUND = new StacklessException("not found");
+
+    @Test//Cheap failures
+    public void stacklessFailures() {
+
+        //a RuntimeException fills in its whole stack trace, for expected failures that is most of the cost
+        Function1<Integer, Integer> somethingBad = (x) -> {throw new RuntimeException();};
+        assertThat(Try.of(() -> somethingBad.apply(2)).getOrElse(-1)).isEqualTo(-1);
+
+        //a StacklessException doesn't, and a preallocated one costs nothing to throw
+        Function1<Integer, Integer> somethingExpected = (x) -> {throw NOT_FOUND;};
+        Try<Integer> failure = Try.of(() -> somethingExpected.apply(2));
+        assertThat(failure.getOrElse(-1)).isEqualTo(-1);
+        assertThat(failure.getCause()).isSameAs(NOT_FOUND);
+        assertThat(failure.getCause().getStackTrace()).isEmpty();
+
+        //or skip throwing altogether and return the preallocated failure
+        Function1<Integer, Try<Integer>> lookup = (x) -> x > 0 ? Try.success(x) : NOT_FOUND.toFailure();
+        assertThat(lookup.apply(-2).getOrElse(-1)).isEqualTo(-1);
+        assertThat(lookup.apply(-2)).isSameAs(lookup.apply(-3));
+
+        //when the failure is a plain value rather than an exception, Either carries it without any Throwable
+        Function1<Integer, Either<String, Integer>> validate = (x) -> x > 0 ? Either.right(x) : Either.left("not positive");
+        assertThat(validate.apply(-2).getOrElse(-1)).isEqualTo(-1);
+        assertThat(validate.apply(-2).getLeft()).isEqualTo("not positive");
+    }
+
+    @Test//Parallel traverse
+    public void parallelTraverse() {
+
+        //same result as Try.sequence over the mapped list, in input order, computed on a fork-join pool
+        List<Integer> numbers = List.range(0, 100_000);
+        Try<Seq<Integer>> doubled = Tries.traverseParallel(numbers, x -> Try.of(() -> x * 2));
+        assertThat(doubled.get()).containsExactlyElementsOf(Try.sequence(numbers.map(x -> Try.of(() -> x * 2))).get());
+
+        //the first failure in input order wins and the remaining work is skipped
+        AtomicInteger evaluated = new AtomicInteger(0);
+        Try<Seq<Integer>> failed = Tries.traverseParallel(numbers, x -> {
+            evaluated.incrementAndGet();
+            return x == 10 || x == 20 ? Try.failure(new IllegalArgumentException("bad " + x)) : Try.success(x);
+        });
+        assertThat(failed.isFailure()).isTrue();
+        assertThat(failed.getCause()).hasMessage("bad 10");
+        assertThat(evaluated.get()).isLessThan(100_000);
+    }
+
+    @Test//Streaming sequence
+    public void streamingSequence() {
+
+        //tries are pulled one by one, nothing is built up front
+        Try<Seq<String>> strings = Tries.sequence(Stream.of(Try.of(() -> "A"), Try.of(() -> "B"), Try.of(() -> "C")));
+        assertThat(strings.get()).containsExactly("A", "B", "C");
+
+        //and no input is pulled after the first failure
+        AtomicInteger pulled = new AtomicInteger(0);
+        Try<Seq<Integer>> failed = Tries.traverse(IntStream.range(0, 1_000_000).boxed().peek(x -> pulled.incrementAndGet()),
+            x -> x < 3 ? Try.success(x) : Try.failure(new IllegalArgumentException("bad " + x)));
+        assertThat(failed.getCause()).hasMessage("bad 3");
+        assertThat(pulled.get()).isEqualTo(4);
+    }
+
+    @Test//Lazy recovery
+    public void lazyRecovery() {
+
+        //recoverWith(IllegalArgumentException.class, Try.of(() -> 777)) computes 777 even when nothing failed,
+        //with a supplier the fallback only runs on an actual failure
+        AtomicInteger fallbacks = new AtomicInteger(0);
+        Function1<Integer, Integer> something = (x) -> x * 2;
+        Integer success = Tries.recoverWith(Try.of(() -> something.apply(2)), IllegalArgumentException.class,
+            () -> Try.of(() -> fallbacks.incrementAndGet() + 776))
+            .getOrElse(-1);
+        assertThat(success).isEqualTo(4);
+        assertThat(fallbacks.get()).isEqualTo(0);
+
+        Function1<Integer, Integer> manyBadThings = (x) -> {throw new IllegalArgumentException();};
+        Integer recovered = Tries.recoverWith(Try.of(() -> manyBadThings.apply(2)), IllegalArgumentException.class,
+            () -> Try.of(() -> fallbacks.incrementAndGet() + 776))
+            .getOrElse(-1);
+        assertThat(recovered).isEqualTo(777);
+        assertThat(fallbacks.get()).isEqualTo(1);
+
+        Integer recoveredValue = Tries.recover(Try.of(() -> manyBadThings.apply(2)), IllegalArgumentException.class, () -> 777)
+            .getOrElse(-1);
+        assertThat(recoveredValue).isEqualTo(777);
+    }
+
+    @Test//Async pipeline
+    public void asyncPipeline() {
+
+        //each step runs on the executor once the previous one is done, only await() blocks
+        ExecutorService executor = VirtualThreads.newExecutor();
+        Function1<Integer, Integer> slowLookup = (x) -> {
+            Try.run(() -> Thread.sleep(10));
+            return x * 2;
+        };
+        Try<Integer> result = AsyncTry.of(executor, () -> 2)
+            .mapAsync(slowLookup::apply)
+            .flatMapAsync(x -> Try.of(() -> slowLookup.apply(x)))
+            .await();
+        assertThat(result.get()).isEqualTo(8);
+
+        //a failure skips the remaining steps until it is recovered
+        AtomicInteger skipped = new AtomicInteger(0);
+        Try<Integer> recovered = AsyncTry.of(executor, () -> Integer.parseInt("not a number"))
+            .mapAsync(x -> skipped.incrementAndGet())
+            .recoverAsync(NumberFormatException.class, e -> -1)
+            .await();
+        assertThat(recovered.get()).isEqualTo(-1);
+        assertThat(skipped.get()).isEqualTo(0);
+
+        //fan out many blocking calls and collect them in input order
+        List<AsyncTry<Integer>> calls = List.range(0, 1_000).map(x -> AsyncTry.of(executor, () -> slowLookup.apply(x)));
+        Try<Seq<Integer>> all = AsyncTry.sequence(executor, calls).await();
+        assertThat(all.get()).containsExactlyElementsOf(List.range(0, 1_000).map(x -> x * 2));
+        executor.shutdown();
+    }
+
+    @Test(timeout = 5000)//A step that throws a fatal exception fails the pipeline
+    public void asyncPipelineFatalFailure() {
+
+        //Try can't hold an InterruptedException, it comes wrapped, the steps after it are skipped and await() returns
+        ExecutorService executor = VirtualThreads.newExecutor();
+        Try<Integer> result = AsyncTry.of(executor, () -> 2)
+            .mapAsync(x -> {
+                throw new InterruptedException("interrupted lookup");
+            })
+            .mapAsync(x -> 1)
+            .await();
+        assertThat(result.isFailure()).isTrue();
+        assertThat(result.getCause()).isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(InterruptedException.class);
+
+        Try<Integer> nullStep = AsyncTry.of(executor, () -> 2)
+            .flatMapAsync(x -> (Try<Integer>) null)
+            .await();
+        assertThat(nullStep.getCause()).isInstanceOf(NullPointerException.class);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,228 @@
+package com.djordje.lazy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.djordje.concurrent.VirtualThreads;
+import io.vavr.Lazy;
+import io.vavr.control.Try;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+public class LazyExamples {
+
+    @Test//Lock-free lazy values
+    public void atomicLazy() throws Exception {
+
+        //like Lazy it computes once, but threads racing on the first get() don't queue on a monitor
+        AtomicInteger callCounter = new AtomicInteger(0);
+        AtomicLazy<Integer> lazyValue = AtomicLazy.of(() -> {
+            callCounter.incrementAndGet();
+            sleep(200);
+            return 123;
+        });
+        assertThat(lazyValue.isEvaluated()).isFalse();
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return lazyValue.get();
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> result : results) {
+            assertThat(result.get()).isEqualTo(123);
+        }
+        executor.shutdown();
+
+        assertThat(lazyValue.isEvaluated()).isTrue();
+        assertThat(callCounter.get()).isEqualTo(1);
+    }
+
+    @Test//Lazy values retry failed initializations
+    public void atomicLazyFailure() {
+
+        AtomicInteger callCounter = new AtomicInteger(0);
+        AtomicLazy<Integer> lazyValue = AtomicLazy.of(() -> {
+            if (callCounter.incrementAndGet() == 1) {
+                throw new IllegalStateException("not yet");
+            }
+            return 123;
+        });
+
+        assertThatThrownBy(lazyValue::get).isInstanceOf(IllegalStateException.class).hasMessage("not yet");
+        assertThat(lazyValue.get()).isEqualTo(123);
+        assertThat(lazyValue.get()).isEqualTo(123);
+        assertThat(callCounter.get()).isEqualTo(2);
+    }
+
+    @Test(timeout = 5000)//Lazy values retry initializations that threw a checked exception
+    public void atomicLazyCheckedFailure() {
+
+        //Try.get() rethrows a checked cause as it is, the next get() must run the supplier again instead of hanging
+        AtomicInteger callCounter = new AtomicInteger(0);
+        AtomicLazy<Integer> lazyValue = AtomicLazy.of(() -> Try.of(() -> {
+            if (callCounter.incrementAndGet() == 1) {
+                throw new IOException("not yet");
+            }
+            return 123;
+        }).get());
+
+        assertThatThrownBy(lazyValue::get).isInstanceOf(IOException.class).hasMessage("not yet");
+        assertThat(lazyValue.get()).isEqualTo(123);
+        assertThat(callCounter.get()).isEqualTo(2);
+    }
+
+    @Test//Lazy values refreshed in the background
+    public void refreshingLazy() {
+
+        //a stale value is still returned while it gets recomputed, the fresh one shows up afterwards
+        AtomicLong clock = new AtomicLong(0);
+        AtomicInteger callCounter = new AtomicInteger(0);
+        RefreshingLazy<Integer> rateLimit = new RefreshingLazy<>(
+            () -> 100 * callCounter.incrementAndGet(), Duration.ofMinutes(1), Runnable::run, clock::get);
+
+        assertThat(rateLimit.get()).isEqualTo(100);
+        assertThat(rateLimit.get()).isEqualTo(100);
+
+        clock.set(Duration.ofMinutes(2).toNanos());
+        assertThat(rateLimit.get()).isEqualTo(100);
+        assertThat(rateLimit.get()).isEqualTo(200);
+        assertThat(callCounter.get()).isEqualTo(2);
+    }
+
+    @Test//Warming up lazy values at startup
+    public void lazyGroup() {
+
+        //independent values initialize concurrently, a value waits for the ones it depends on
+        ConcurrentLinkedQueue<String> initialized = new ConcurrentLinkedQueue<>();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Lazy<Boolean> config = Lazy.of(() -> {
+            //gets through only once templates started too
+            bothStarted.countDown();
+            boolean concurrent = Try.of(() -> bothStarted.await(5, TimeUnit.SECONDS)).get();
+            initialized.add("config");
+            return concurrent;
+        });
+        Lazy<Boolean> templates = Lazy.of(() -> {
+            bothStarted.countDown();
+            boolean concurrent = Try.of(() -> bothStarted.await(5, TimeUnit.SECONDS)).get();
+            initialized.add("templates");
+            return concurrent;
+        });
+        AtomicLazy<String> client = AtomicLazy.of(() -> {
+            initialized.add("client");
+            return "client for config " + config.get();
+        });
+
+        LazyGroup group = new LazyGroup()
+            .register("config", config)
+            .register("templates", templates)
+            .register("client", client, "config");
+
+        ExecutorService executor = VirtualThreads.newExecutor();
+        group.warmUp(executor).join();
+        executor.shutdown();
+
+        assertThat(config.get()).isTrue();
+        assertThat(templates.get()).isTrue();
+        assertThat(client.isEvaluated()).isTrue();
+        assertThat(initialized).containsSubsequence("config", "client");
+    }
+
+    @Test//Lazy initialization metrics
+    public void lazyInitStats() throws Exception {
+
+        //every initialization reports its duration, the thread that ran it and how many threads waited for it
+        List<LazyInitStats> reported = new ArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLazy<Integer> lazyValue = AtomicLazy.of("answer", () -> {
+            started.countDown();
+            Try.run(release::await);
+            sleep(200);
+            return 42;
+        }, reported::add);
+        assertThat(lazyValue.initStats().isEmpty()).isTrue();
+
+        //the initializer holds on until the three others are parked on its result
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Future<Integer> initializer = executor.submit(lazyValue::get);
+        started.await();
+        ConcurrentLinkedQueue<Thread> waiterThreads = new ConcurrentLinkedQueue<>();
+        List<Future<Integer>> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(executor.submit(() -> {
+                waiterThreads.add(Thread.currentThread());
+                return lazyValue.get();
+            }));
+        }
+        while (waiterThreads.size() < 3 || !waiterThreads.stream().allMatch(t -> t.getState() == Thread.State.WAITING)) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        assertThat(initializer.get()).isEqualTo(42);
+        for (Future<Integer> waiter : waiters) {
+            assertThat(waiter.get()).isEqualTo(42);
+        }
+        executor.shutdown();
+
+        LazyInitStats stats = lazyValue.initStats().get();
+        System.out.println(stats);
+        assertThat(reported).containsExactly(stats);
+        assertThat(stats.name()).isEqualTo("answer");
+        assertThat(stats.durationNanos()).isGreaterThanOrEqualTo(Duration.ofMillis(200).toNanos());
+        assertThat(stats.threadName()).startsWith("pool-");
+        assertThat(stats.waiters()).isEqualTo(3);
+        assertThat(stats.failed()).isFalse();
+    }
+
+    @Test//Lazy initialization in flight recordings
+    public void lazyInitJfrEvents() throws Exception {
+
+        //with the jfr listener every initialization shows up as a com.djordje.lazy.LazyInit event
+        Path dump = Files.createTempFile("lazy", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.djordje.lazy.LazyInit");
+            recording.start();
+            AtomicLazy<Integer> lazyValue = AtomicLazy.of("answer", () -> 42, LazyInitListener.jfr());
+            assertThat(lazyValue.get()).isEqualTo(42);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        Files.delete(dump);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("name")).isEqualTo("answer");
+        assertThat(events.get(0).getBoolean("failed")).isFalse();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
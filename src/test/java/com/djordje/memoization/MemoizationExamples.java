@@ -0,0 +1,383 @@
+package com.djordje.memoization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.djordje.concurrent.VirtualThreads;
+import io.vavr.Function1;
+import io.vavr.Function2;
+import io.vavr.Function3;
+import io.vavr.Function8;
+import io.vavr.Tuple2;
+import io.vavr.control.Try;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MemoizationExamples {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test//Bounded memoization
+    public void boundedMemoization() {
+
+        //Function1.memoized() keeps every result forever, an LruCache keeps only the most recently used ones
+        AtomicInteger calls = new AtomicInteger(0);
+        Function1<Integer, String> foo = Memoizers.memoize(
+            Function1.of((Integer x) -> "returned " + calls.incrementAndGet()), new LruCache<>(2));
+
+        assertThat(foo.apply(1)).isEqualTo("returned 1");
+        assertThat(foo.apply(2)).isEqualTo("returned 2");
+        assertThat(foo.apply(1)).isEqualTo("returned 1");//hit, 1 is now the most recently used
+
+        assertThat(foo.apply(3)).isEqualTo("returned 3");//evicts 2
+        assertThat(foo.apply(1)).isEqualTo("returned 1");
+        assertThat(foo.apply(2)).isEqualTo("returned 4");
+        assertThat(calls.get()).isEqualTo(4);
+    }
+
+    @Test//Bounded memoization of FunctionN
+    public void boundedMemoizationOfFunctionN() {
+
+        //multi argument functions are keyed on the tuple of their arguments
+        AtomicInteger calls = new AtomicInteger(0);
+        Function3<Integer, Integer, Integer, Integer> baseFunction = (a, b, c) -> {
+            calls.incrementAndGet();
+            return a + b + c;
+        };
+        Function3<Integer, Integer, Integer, Integer> memoized = Memoizers.memoize(baseFunction, new LruCache<>(10));
+
+        assertThat(memoized.apply(1, 2, 3)).isEqualTo(6);
+        assertThat(memoized.apply(1, 2, 3)).isEqualTo(6);
+        assertThat(memoized.apply(3, 2, 1)).isEqualTo(6);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test//Single-flight memoization
+    public void singleFlightMemoization() throws Exception {
+
+        //many threads missing on the same cold key compute it once, the rest wait for that result
+        AtomicInteger calls = new AtomicInteger(0);
+        Function1<Integer, String> foo = Memoizers.memoize(Function1.of((Integer x) -> {
+            calls.incrementAndGet();
+            return aSlowMethod(x);
+        }), new SingleFlightCache<>(new LruCache<>(100)));
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return foo.apply(2);
+            }));
+        }
+        start.countDown();
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("returned 4");
+        }
+        executor.shutdown();
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test(timeout = 5000)//Single-flight memoization of a loader throwing a checked exception
+    public void singleFlightCheckedFailure() throws Exception {
+
+        //Try.get() rethrows a checked cause as it is, the followers get it too instead of waiting forever
+        CountDownLatch release = new CountDownLatch(1);
+        InstrumentedCache<Integer, String> cache = new InstrumentedCache<>(new SingleFlightCache<>(new LruCache<>(100)));
+        Function1<Integer, String> foo = Memoizers.memoize(Function1.of((Integer x) -> Try.<String>of(() -> {
+            release.await();
+            throw new IOException("backend down");
+        }).get()), cache);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<String> leader = executor.submit(() -> foo.apply(2));
+        Thread[] followerThread = new Thread[1];
+        Future<String> follower = executor.submit(() -> {
+            followerThread[0] = Thread.currentThread();
+            return foo.apply(2);
+        });
+        while (followerThread[0] == null || followerThread[0].getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertThatThrownBy(leader::get).hasRootCauseInstanceOf(IOException.class);
+        assertThatThrownBy(follower::get).hasRootCauseInstanceOf(IOException.class);
+        executor.shutdown();
+        assertThat(cache.stats().loadFailureCount()).isEqualTo(2);//both lookups failed to load
+    }
+
+    @Test//Time-to-live and refresh-ahead memoization
+    public void expiringMemoization() {
+
+        //after refreshAfter the cached value is still returned while it gets recomputed in the background,
+        //after expireAfter it is gone and the caller computes it again
+        AtomicLong clock = new AtomicLong(0);
+        AtomicInteger calls = new AtomicInteger(0);
+        MemoizationCache<Tuple2<String, String>, String> cache = new ExpiringCache<>(
+            Duration.ofMinutes(5), Duration.ofMinutes(1), Runnable::run, clock::get);
+        Function2<String, String, String> greet = Memoizers.memoize(
+            Function2.of((String s1, String s2) -> s1 + " " + s2 + " " + calls.incrementAndGet()), cache);
+
+        assertThat(greet.apply("Hola", "Cecilia")).isEqualTo("Hola Cecilia 1");
+
+        clock.set(Duration.ofMinutes(2).toNanos());
+        assertThat(greet.apply("Hola", "Cecilia")).isEqualTo("Hola Cecilia 1");//stale, refreshed meanwhile
+        assertThat(greet.apply("Hola", "Cecilia")).isEqualTo("Hola Cecilia 2");
+
+        clock.set(Duration.ofMinutes(10).toNanos());
+        assertThat(greet.apply("Hola", "Cecilia")).isEqualTo("Hola Cecilia 3");//expired
+        assertThat(calls.get()).isEqualTo(3);
+
+        //the same holds when the cache is wrapped for metrics and single-flight loading
+        clock.set(0);
+        calls.set(0);
+        InstrumentedCache<Tuple2<String, String>, String> wrapped = new InstrumentedCache<>(new SingleFlightCache<>(
+            new ExpiringCache<>(Duration.ofMinutes(5), Duration.ofMinutes(1), Runnable::run, clock::get)));
+        Function2<String, String, String> wrappedGreet = Memoizers.memoize(
+            Function2.of((String s1, String s2) -> s1 + " " + s2 + " " + calls.incrementAndGet()), wrapped);
+
+        assertThat(wrappedGreet.apply("Hola", "Cecilia")).isEqualTo("Hola Cecilia 1");
+        clock.set(Duration.ofMinutes(2).toNanos());
+        assertThat(wrappedGreet.apply("Hola", "Cecilia")).isEqualTo("Hola Cecilia 1");//stale, refreshed meanwhile
+        assertThat(wrappedGreet.apply("Hola", "Cecilia")).isEqualTo("Hola Cecilia 2");
+        assertThat(wrapped.stats().hitCount()).isEqualTo(2);
+    }
+
+    @Test//Memoization metrics
+    public void memoizationMetrics() {
+
+        //an InstrumentedCache tells whether the cache pays off
+        InstrumentedCache<Integer, String> cache = new InstrumentedCache<>(new LruCache<>(2));
+        Function1<Integer, String> foo = Memoizers.memoize(Function1.of((Integer x) -> "returned " + (x + x)), cache);
+
+        foo.apply(1);
+        foo.apply(1);
+        foo.apply(1);
+        foo.apply(2);
+        foo.apply(3);//evicts 1
+
+        MemoizationStats stats = cache.stats();
+        System.out.println(stats);
+        assertThat(stats.hitCount()).isEqualTo(2);
+        assertThat(stats.missCount()).isEqualTo(3);
+        assertThat(stats.hitRate()).isEqualTo(0.4);
+        assertThat(stats.evictionCount()).isEqualTo(1);
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(stats.loadTimePercentileNanos(99)).isGreaterThan(0);
+    }
+
+    @Test(timeout = 5000)//Asynchronous memoization
+    public void asyncMemoization() {
+
+        //the cache holds Futures, callers never block and share the computation of a key that is in flight
+        AtomicInteger calls = new AtomicInteger(0);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = VirtualThreads.newExecutor();
+        Function1<Integer, io.vavr.concurrent.Future<String>> foo = AsyncMemoizer.memoize(Function1.of((Integer x) -> {
+            calls.incrementAndGet();
+            Try.run(release::await);
+            return "returned " + (x + x);
+        }), executor, new LruCache<>(100));
+
+        //the computation can't finish before release, so a blocking apply would never return
+        io.vavr.concurrent.Future<String> first = foo.apply(2);
+        io.vavr.concurrent.Future<String> second = foo.apply(2);
+        assertThat(first.isCompleted()).isFalse();
+        release.countDown();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.get()).isEqualTo("returned 4");
+        assertThat(foo.apply(2).get()).isEqualTo("returned 4");
+        assertThat(calls.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    @Test//Asynchronous refresh-ahead memoization
+    public void asyncExpiringMemoization() {
+
+        //refresh-ahead starts a new computation instead of putting the cached Future back, and dropping the
+        //stale Future leaves the refreshed one alone
+        AtomicLong clock = new AtomicLong(0);
+        AtomicInteger calls = new AtomicInteger(0);
+        ExecutorService executor = VirtualThreads.newExecutor();
+        ExpiringCache<Integer, io.vavr.concurrent.Future<String>> cache = new ExpiringCache<>(
+            Duration.ofMinutes(5), Duration.ofMinutes(1), Runnable::run, clock::get);
+        Function1<Integer, io.vavr.concurrent.Future<String>> foo = AsyncMemoizer.memoize(
+            Function1.of((Integer x) -> "returned " + (x + x) + " " + calls.incrementAndGet()), executor, cache);
+
+        io.vavr.concurrent.Future<String> stale = foo.apply(2);
+        assertThat(stale.get()).isEqualTo("returned 4 1");
+
+        clock.set(Duration.ofMinutes(2).toNanos());
+        assertThat(foo.apply(2)).isSameAs(stale);//refreshed meanwhile
+        assertThat(foo.apply(2).get()).isEqualTo("returned 4 2");
+
+        cache.invalidate(2, stale);
+        assertThat(foo.apply(2).get()).isEqualTo("returned 4 2");
+        assertThat(calls.get()).isEqualTo(2);
+        executor.shutdown();
+    }
+
+    @Test//Primitive keyed memoization
+    public void primitiveKeyedMemoization() {
+
+        //applyInt looks the key up without boxing it, apply keeps the Function1 API
+        AtomicInteger calls = new AtomicInteger(0);
+        IntFunction1<String> foo = PrimitiveMemoizers.memoizeInt(x -> "returned " + (x + x) + " " + calls.incrementAndGet());
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(foo.applyInt(i)).isEqualTo("returned " + (i + i) + " " + (i + 1));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(foo.apply(i)).isEqualTo("returned " + (i + i) + " " + (i + 1));
+        }
+        assertThat(calls.get()).isEqualTo(1000);
+
+        LongFunction1<Long> bar = PrimitiveMemoizers.memoizeLong(x -> x * 2);
+        assertThat(bar.applyLong(Long.MAX_VALUE / 2)).isEqualTo(Long.MAX_VALUE - 1);
+    }
+
+    @Test//Persistent memoization
+    public void persistentMemoization() throws IOException {
+
+        //a memory-mapped cache keeps what the function learned across restarts
+        Path file = folder.newFile("memoized.bin").toPath();
+        AtomicInteger calls = new AtomicInteger(0);
+        Function1<Integer, String> expensive = Function1.of((Integer x) -> {
+            calls.incrementAndGet();
+            return "returned " + (x + x);
+        });
+
+        try (MappedFileCache<Integer, String> cache = MappedFileCache.open(file, 1 << 16,
+            Serializer.<Integer>javaSerialization(), Serializer.<String>javaSerialization()).get()) {
+            Function1<Integer, String> foo = Memoizers.memoize(expensive, cache);
+            assertThat(foo.apply(2)).isEqualTo("returned 4");
+            assertThat(foo.apply(3)).isEqualTo("returned 6");
+            cache.invalidate(3);
+        }
+
+        //after the "restart" 2 is still there, 3 was invalidated
+        try (MappedFileCache<Integer, String> cache = MappedFileCache.open(file, 1 << 16,
+            Serializer.<Integer>javaSerialization(), Serializer.<String>javaSerialization()).get()) {
+            Function1<Integer, String> foo = Memoizers.memoize(expensive, cache);
+            assertThat(foo.apply(2)).isEqualTo("returned 4");
+            assertThat(foo.apply(3)).isEqualTo("returned 6");
+            assertThat(cache.size()).isEqualTo(2);
+        }
+        assertThat(calls.get()).isEqualTo(3);
+
+        //after a deploy that changed the key class the old records no longer decode, they are just misses
+        Serializer<Integer> incompatible = new Serializer<Integer>() {
+            @Override
+            public byte[] serialize(Integer value) {
+                return Serializer.<Integer>javaSerialization().serialize(value + 1000);
+            }
+
+            @Override
+            public Integer deserialize(byte[] bytes) {
+                Integer value = Serializer.<Integer>javaSerialization().deserialize(bytes);
+                if (value < 1000) {
+                    throw new IllegalStateException("Cannot deserialize a cached value");
+                }
+                return value - 1000;
+            }
+        };
+        try (MappedFileCache<Integer, String> cache = MappedFileCache.open(file, 1 << 16,
+            incompatible, Serializer.<String>javaSerialization()).get()) {
+            Function1<Integer, String> foo = Memoizers.memoize(expensive, cache);
+            assertThat(foo.apply(2)).isEqualTo("returned 4");
+            assertThat(foo.apply(5)).isEqualTo("returned 10");
+            assertThat(foo.apply(2)).isEqualTo("returned 4");
+        }
+        assertThat(calls.get()).isEqualTo(5);
+    }
+
+    @Test//Persistent invalidation of a full cache
+    public void persistentInvalidationWhenFull() throws IOException {
+
+        //the tombstone of 1 doesn't fit any more, the log is compacted so 1 stays invalidated after a restart
+        Path file = folder.newFile("full.bin").toPath();
+        try (MappedFileCache<Integer, String> cache = MappedFileCache.open(file, 512,
+            Serializer.<Integer>javaSerialization(), Serializer.<String>javaSerialization()).get()) {
+            Function1<Integer, String> foo = Memoizers.memoize(Function1.of((Integer x) -> "returned " + (x + x)), cache);
+            for (int i = 0; i < 20; i++) {
+                foo.apply(i);
+            }
+            cache.invalidate(1);
+        }
+        try (MappedFileCache<Integer, String> cache = MappedFileCache.open(file, 512,
+            Serializer.<Integer>javaSerialization(), Serializer.<String>javaSerialization()).get()) {
+            assertThat(cache.getIfPresent(1)).isNull();
+            assertThat(cache.getIfPresent(0)).isEqualTo("returned 0");
+        }
+    }
+
+    @Test//Multi argument memoization without tuples
+    public void flatKeyMemoization() {
+
+        //arguments are hashed and compared in place, a hit doesn't allocate a TupleN key
+        AtomicInteger calls = new AtomicInteger(0);
+        Function8<Integer, Integer, Integer, Integer, Integer, Integer, Integer, Integer, Integer> bar = FlatKeyMemoizers.memoize(
+            (Function8<Integer, Integer, Integer, Integer, Integer, Integer, Integer, Integer, Integer>) (x1, x2, x3, x4, x5, x6, x7, x8) -> {
+                calls.incrementAndGet();
+                return x1 + x2 + x3 + x4 + x5 + x6 + x7 + x8;
+            });
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(bar.apply(i, 1, 1, 1, 1, 1, 1, 1)).isEqualTo(i + 7);
+            assertThat(bar.apply(1, 1, 1, 1, 1, 1, 1, i)).isEqualTo(i + 7);
+        }
+        assertThat(bar.apply(5, 1, 1, 1, 1, 1, 1, 1)).isEqualTo(12);
+        assertThat(calls.get()).isEqualTo(199);//(1, 1, ..., 1) is the same call in both loops
+    }
+
+    @Test//Weak and soft reference memoization
+    public void referenceMemoization() throws InterruptedException {
+
+        //with weak keys an entry lives as long as its key is referenced somewhere else
+        ReferenceCache<StringBuilder, String> cache = ReferenceCache.weakKeys();
+        Function1<StringBuilder, String> describe = Memoizers.memoize(Function1.of((StringBuilder request) -> "request " + request), cache);
+
+        StringBuilder request = new StringBuilder("42");
+        assertThat(describe.apply(request)).isEqualTo("request 42");
+        assertThat(cache.size()).isEqualTo(1);
+
+        //cleared references are enqueued by the reference handler thread after the gc, so give it some time
+        request = null;
+        for (int i = 0; i < 100 && cache.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertThat(cache.size()).isEqualTo(0);
+
+        //with soft values entries are cleared under memory pressure instead of failing with OutOfMemoryError
+        Function1<Integer, String> foo = Memoizers.memoize(Function1.of((Integer x) -> "returned " + (x + x)), ReferenceCache.softValues());
+        assertThat(foo.apply(2)).isEqualTo("returned 4");
+    }
+
+    private String aSlowMethod(Integer number) {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "returned " + (number + number);
+    }
+}
@@ -0,0 +1,193 @@
+package com.djordje.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.vavr.Function1;
+import io.vavr.Function2;
+import io.vavr.control.Try;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class ResilienceExamples {
+
+    @Test//Retries
+    public void retry() {
+
+        //transient failures are retried with exponential backoff
+        List<Long> delays = new ArrayList<>();
+        Retry retry = Retry.of(5)
+            .withBackoff(Duration.ofMillis(100), 2.0, Duration.ofMillis(300))
+            .withJitter(0.0)
+            .withSleeper(delays::add);
+
+        AtomicInteger calls = new AtomicInteger(0);
+        Function1<Integer, Try<Integer>> flaky = retry.decorate(Function1.of((Integer x) -> {
+            if (calls.incrementAndGet() < 4) {
+                throw new IllegalStateException("try again");
+            }
+            return x * 2;
+        }));
+        assertThat(flaky.apply(2).get()).isEqualTo(4);
+        assertThat(calls.get()).isEqualTo(4);
+        assertThat(delays).containsExactly(100_000_000L, 200_000_000L, 300_000_000L);
+    }
+
+    @Test//Retries per exception class
+    public void retryPolicies() {
+
+        //like recoverWith, only the listed exceptions are retried
+        Retry retry = Retry.of(3)
+            .retryOn(IllegalStateException.class)
+            .withSleeper(nanos -> {
+            });
+
+        AtomicInteger calls = new AtomicInteger(0);
+        Try<Integer> notRetried = retry.call(() -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException();
+        });
+        assertThat(notRetried.getCause()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(calls.get()).isEqualTo(1);
+
+        calls.set(0);
+        Try<Integer> retried = retry.call(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        });
+        assertThat(retried.getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test//Retry budget
+    public void retryBudget() {
+
+        //when everything fails the budget runs dry and calls stop being retried
+        RetryBudget budget = RetryBudget.of(0.1, 5);
+        Retry retry = Retry.of(3).withBudget(budget).withSleeper(nanos -> {
+        });
+
+        AtomicInteger calls = new AtomicInteger(0);
+        for (int i = 0; i < 100; i++) {
+            retry.call(() -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException();
+            });
+        }
+        //100 calls, 5 retries from the reserve and about one per 10 calls after that
+        assertThat(calls.get()).isBetween(100 + 5, 100 + 5 + 11);
+    }
+
+    @Test//Circuit breaker
+    public void circuitBreaker() {
+
+        //once half of the last 4 calls failed the breaker opens and calls fail fast without running
+        AtomicLong clock = new AtomicLong(0);
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, Duration.ofSeconds(30), clock::get);
+        AtomicInteger calls = new AtomicInteger(0);
+        AtomicInteger failing = new AtomicInteger(1);
+        Function2<Integer, Integer, Try<Integer>> add = breaker.decorate(Function2.of((Integer a, Integer b) -> {
+            calls.incrementAndGet();
+            if (failing.get() == 1) {
+                throw new IllegalStateException("dependency down");
+            }
+            return a + b;
+        }));
+
+        assertThat(add.apply(1, 1).getCause()).hasMessage("dependency down");
+        assertThat(add.apply(1, 1).getCause()).hasMessage("dependency down");
+        failing.set(0);
+        assertThat(add.apply(1, 1).get()).isEqualTo(2);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);//only 3 calls so far
+        failing.set(1);
+        add.apply(1, 1);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        Try<Integer> rejected = add.apply(1, 1);
+        assertThat(rejected.getCause()).isInstanceOf(CallNotPermittedException.class);
+        assertThat(rejected).isSameAs(add.apply(2, 2));//preallocated
+        assertThat(calls.get()).isEqualTo(4);
+
+        //after the wait a trial call goes through, its success closes the breaker again
+        clock.set(Duration.ofSeconds(31).toNanos());
+        failing.set(0);
+        assertThat(add.apply(1, 1).get()).isEqualTo(2);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(add.apply(2, 2).get()).isEqualTo(4);
+    }
+
+    @Test//Bulkhead
+    public void bulkhead() throws InterruptedException {
+
+        //two calls are stuck on a slow dependency, the third one fails right away instead of queueing up
+        Bulkhead bulkhead = Bulkhead.of(2);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 2; i++) {
+            executor.submit(() -> bulkhead.call(() -> {
+                started.countDown();
+                release.await();
+                return 1;
+            }));
+        }
+        started.await();
+        assertThat(bulkhead.inFlight()).isEqualTo(2);
+        Try<Integer> rejected = bulkhead.call(() -> 3);
+        assertThat(rejected.getCause()).isInstanceOf(CallNotPermittedException.class);
+
+        release.countDown();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+        assertThat(bulkhead.call(() -> 3).get()).isEqualTo(3);
+    }
+
+    @Test//Adaptive bulkhead
+    public void adaptiveBulkhead() {
+
+        //fast calls raise the limit by one per limit's worth of calls, a slow call cuts it back
+        AtomicLong clock = new AtomicLong(0);
+        Bulkhead bulkhead = new Bulkhead(2, 10, Duration.ofMillis(100), 0.5, clock::get);
+        Function1<Long, Try<Long>> dependency = bulkhead.decorate(Function1.of((Long millis) -> clock.addAndGet(Duration.ofMillis(millis).toNanos())));
+
+        for (int i = 0; i < 2 + 3 + 4; i++) {
+            dependency.apply(10L);
+        }
+        assertThat(bulkhead.limit()).isEqualTo(5);
+        dependency.apply(500L);
+        assertThat(bulkhead.limit()).isEqualTo(2);
+        for (int i = 0; i < 100; i++) {
+            dependency.apply(10L);
+        }
+        assertThat(bulkhead.limit()).isEqualTo(10);
+    }
+
+    @Test//Circuit breaker with an interrupted trial call
+    public void circuitBreakerInterruptedTrial() {
+
+        //Try.of rethrows an InterruptedException, the trial still counts as a failure and the breaker opens again
+        AtomicLong clock = new AtomicLong(0);
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 0.5, Duration.ofSeconds(30), clock::get);
+        breaker.call(() -> {throw new IllegalStateException("dependency down");});
+        breaker.call(() -> {throw new IllegalStateException("dependency down");});
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        clock.set(Duration.ofSeconds(31).toNanos());
+        assertThatThrownBy(() -> breaker.call(() -> {throw new InterruptedException();}))
+            .isInstanceOf(InterruptedException.class);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        //so after the next wait another trial goes through and closes it
+        clock.set(Duration.ofSeconds(62).toNanos());
+        assertThat(breaker.call(() -> 4).get()).isEqualTo(4);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}